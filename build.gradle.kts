@@ -2,6 +2,7 @@
 plugins {
     id("net.neoforged.gradle.userdev") version "7.0.152"
     id("maven-publish")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 base { archivesName.set(providers.gradleProperty("archives_base_name")) }
@@ -23,6 +24,59 @@ dependencies {
     implementation("net.neoforged:neoforge:${providers.gradleProperty("neoforge_version").get()}")
 }
 
+// Microbenchmarks for the world-free transfer code live in the "jmh" source set (src/jmh/java).
+// Run with: ./gradlew jmh   (results: build/results/jmh/results.json)
+configurations.named("jmhImplementation") { extendsFrom(configurations.implementation.get()) }
+
+jmh {
+    benchmarkMode.set(listOf("avgt"))   // Average time per operation...
+    timeUnit.set("ns")                  // ...in ns/op.
+    profilers.add("gc")                 // Allocation rate: gc.alloc.rate.norm = bytes allocated per op.
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+}
+
+// Offline trace tool (src/tracetool/java): replays a transfer trace (trace.enabled in the server config)
+// against TransferPlanner and reports the hottest bridges, ping-pong pairs and wasted calls.
+// Run with: ./gradlew traceReport -Ptrace=<world>/energybridge/trace-minecraft_overworld.bin [-Ptop=20]
+val tracetool: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations.named("tracetoolImplementation") { extendsFrom(configurations.implementation.get()) }
+
+tasks.register<JavaExec>("traceReport") {
+    description = "Report on an Energy Bridge transfer trace (-Ptrace=<file> [-Ptop=N])."
+    classpath = tracetool.runtimeClasspath
+    mainClass.set("com.example.energybridge.trace.TraceReport")
+    args(providers.gradleProperty("trace").getOrElse(""), providers.gradleProperty("top").getOrElse("10"))
+}
+
+// Unit tests for the world-free code (src/test/java): the transfer planner and the trace tool.
+// Run with: ./gradlew test
+dependencies {
+    testImplementation(tracetool.output)
+    testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+runs {
+    configureEach {
+        modSource(sourceSets.main.get())
+    }
+    // Headless GameTest server: runs every energybridge GameTest (incl. the load tests) and exits.
+    // ./gradlew runGameTestServer  (add -Denergybridge.gametest.budgetScale=2 to jvmArgs on slow machines)
+    create("gameTestServer") {
+        systemProperty("neoforge.enabledGameTestNamespaces", "energybridge")
+    }
+}
+
 tasks.processResources {
     val props = mapOf("version" to version)
     filesMatching("META-INF/neoforge.mods.toml") { expand(props) }
@@ -0,0 +1,42 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * =====================================
+ * BenchStorage.java
+ * -------------------------------------
+ * Fake neighbors for the benchmarks. They never fill up or run dry, so every
+ * benchmark iteration sees exactly the same situation:
+ *  - source(rate): gives up to {@code rate} FE per call, never accepts any
+ *  - sink(rate):   accepts up to {@code rate} FE per call, never gives any
+ *  - idle():       neither gives nor takes (a machine that is full or off)
+ * =====================================
+ */
+final class BenchStorage implements IEnergyStorage {
+    private final int extractRate;
+    private final int receiveRate;
+
+    private BenchStorage(int extractRate, int receiveRate) {
+        this.extractRate = extractRate;
+        this.receiveRate = receiveRate;
+    }
+
+    static BenchStorage source(int rate) { return new BenchStorage(rate, 0); }
+
+    static BenchStorage sink(int rate) { return new BenchStorage(0, rate); }
+
+    static BenchStorage idle() { return new BenchStorage(0, 0); }
+
+    @Override public int receiveEnergy(int maxReceive, boolean simulate) { return Math.min(maxReceive, receiveRate); }
+
+    @Override public int extractEnergy(int maxExtract, boolean simulate) { return Math.min(maxExtract, extractRate); }
+
+    @Override public int getEnergyStored() { return 0; }
+
+    @Override public int getMaxEnergyStored() { return Integer.MAX_VALUE; }
+
+    @Override public boolean canExtract() { return extractRate > 0; }
+
+    @Override public boolean canReceive() { return receiveRate > 0; }
+}
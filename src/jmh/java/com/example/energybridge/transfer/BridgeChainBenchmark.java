@@ -0,0 +1,89 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * =====================================
+ * BridgeChainBenchmark.java
+ * -------------------------------------
+ * A chain of separate buffers (like bridges of different tiers placed in a
+ * row, which don't join into one network): a source feeds the first link,
+ * every link pulls from the one before and pushes to the one after, and the
+ * last link feeds a sink. One op = one tick of every link, in order.
+ *
+ * This measures what energy costs when it has to hop through many buffers,
+ * including the calls into other buffers' handlers.
+ * =====================================
+ */
+@State(Scope.Thread)
+public class BridgeChainBenchmark {
+    private static final long CAPACITY = 100_000;
+    private static final long RATE = 2_000;
+
+    @Param({"8", "64"})
+    public int length;
+
+    private Link[] links;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        links = new Link[length];
+        for (int i = 0; i < length; i++) links[i] = new Link();
+        for (int i = 0; i < length; i++) {
+            IEnergyStorage before = i == 0 ? BenchStorage.source(1_500) : links[i - 1];
+            IEnergyStorage after = i == length - 1 ? BenchStorage.sink(1_500) : links[i + 1];
+            links[i].neighbors = new IEnergyStorage[] {before, after};
+            links[i].energy = CAPACITY / 2;
+        }
+    }
+
+    @Benchmark
+    public long tickChain() {
+        tick++;
+        long total = 0;
+        for (Link link : links) total += link.tick(tick);
+        return total;
+    }
+
+    /**
+     * One buffer in the chain: its own engine, and a handler other links can pull from / push into.
+     */
+    private static final class Link implements IEnergyStorage {
+        final TransferEngine engine = new TransferEngine();
+        IEnergyStorage[] neighbors;
+        long energy;
+
+        long tick(long rotation) {
+            energy += engine.pull(neighbors, 2, TransferEngine.pullBudget(energy, CAPACITY, RATE, 1), RATE, rotation);
+            energy -= engine.push(neighbors, 2, TransferEngine.pushBudget(energy, RATE, 1), RATE, rotation);
+            return energy;
+        }
+
+        @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+            int received = (int) Math.max(0, Math.min(Math.min(maxReceive, RATE), CAPACITY - energy));
+            if (!simulate) energy += received;
+            return received;
+        }
+
+        @Override public int extractEnergy(int maxExtract, boolean simulate) {
+            int extracted = (int) Math.max(0, Math.min(Math.min(maxExtract, RATE), energy));
+            if (!simulate) energy -= extracted;
+            return extracted;
+        }
+
+        @Override public int getEnergyStored() { return (int) energy; }
+
+        @Override public int getMaxEnergyStored() { return (int) CAPACITY; }
+
+        @Override public boolean canExtract() { return true; }
+
+        @Override public boolean canReceive() { return true; }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * =====================================
+ * PassThroughBenchmark.java
+ * -------------------------------------
+ * The same chain as BridgeChainBenchmark, in both modes:
+ *  - buffered:    every link stores what it gets, and passes it on in its
+ *                 own tick
+ *  - passThrough: a link forwards what is inserted within the same call,
+ *                 through the same PassThrough.receive BridgeNetwork uses,
+ *                 and keeps only a small buffer
+ * Links tick from the sink end back to the source, so a buffered chain
+ * moves energy one link per tick (the order that shows the latency).
+ *
+ * Two benchmarks:
+ *  - tickChain:     time per tick of a running chain; the "delivered"
+ *                   counter is the FE that reached the sink in each
+ *                   iteration
+ *  - firstDelivery: latency, the time from an empty chain to the first FE
+ *                   at the sink (a new chain for every call)
+ * =====================================
+ */
+@State(Scope.Thread)
+public class PassThroughBenchmark {
+    private static final long CAPACITY = 100_000;
+    private static final long BUFFER = 1_000;
+    private static final long RATE = 2_000;
+    // firstDelivery gives up after this many ticks (never reached: the longest chain needs 64).
+    private static final int MAX_TICKS = 10_000;
+
+    @Param({"8", "64"})
+    public int length;
+
+    @Param({"buffered", "passThrough"})
+    public String mode;
+
+    private Chain chain;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        chain = newChain();
+    }
+
+    Chain newChain() {
+        return new Chain(length, mode.equals("passThrough"));
+    }
+
+    /**
+     * What reached the sink in this iteration (JMH prints it next to the time per op).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Delivery {
+        public long delivered;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            delivered = 0;
+        }
+    }
+
+    @Benchmark
+    public long tickChain(Delivery delivery) {
+        long before = chain.sink.received;
+        long total = chain.tick();
+        delivery.delivered += chain.sink.received - before;
+        return total;
+    }
+
+    /**
+     * A new, empty chain for every call of firstDelivery.
+     */
+    @State(Scope.Thread)
+    public static class EmptyChain {
+        Chain chain;
+
+        @Setup(Level.Invocation)
+        public void setUp(PassThroughBenchmark benchmark) {
+            chain = benchmark.newChain();
+        }
+    }
+
+    /**
+     * Tick an empty chain until the first FE reaches the sink.
+     * @return how many ticks that took.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public long firstDelivery(EmptyChain empty) {
+        Chain fresh = empty.chain;
+        while (fresh.sink.received == 0 && fresh.ticks < MAX_TICKS) fresh.tick();
+        return fresh.ticks;
+    }
+
+    /**
+     * A source, the links, and a sink that counts what it gets.
+     */
+    private static final class Chain {
+        final Link[] links;
+        final CountingSink sink = new CountingSink();
+        long ticks;
+
+        Chain(int length, boolean passThrough) {
+            links = new Link[length];
+            for (int i = 0; i < length; i++) links[i] = new Link(passThrough);
+            for (int i = 0; i < length; i++) {
+                IEnergyStorage before = i == 0 ? BenchStorage.source(1_500) : links[i - 1];
+                IEnergyStorage after = i == length - 1 ? sink : links[i + 1];
+                links[i].neighbors = new IEnergyStorage[] {before, after};
+                links[i].outputs = new IEnergyStorage[] {null, after};
+            }
+        }
+
+        long tick() {
+            ticks++;
+            long total = 0;
+            for (int i = links.length - 1; i >= 0; i--) total += links[i].tick(ticks);
+            return total;
+        }
+    }
+
+    /**
+     * Takes up to RATE per call and counts what it got.
+     */
+    private static final class CountingSink implements IEnergyStorage {
+        long received;
+
+        @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+            int taken = (int) Math.min(maxReceive, RATE);
+            if (!simulate) received += taken;
+            return taken;
+        }
+
+        @Override public int extractEnergy(int maxExtract, boolean simulate) { return 0; }
+
+        @Override public int getEnergyStored() { return 0; }
+
+        @Override public int getMaxEnergyStored() { return Integer.MAX_VALUE; }
+
+        @Override public boolean canExtract() { return false; }
+
+        @Override public boolean canReceive() { return true; }
+    }
+
+    /**
+     * One link, like a one-member BridgeNetwork: its own engine, its own buffer, and a handler for its neighbors.
+     * Inserts go through PassThrough.receive exactly as in BridgeNetwork.receivePassThrough.
+     */
+    private static final class Link implements IEnergyStorage {
+        final TransferEngine engine = new TransferEngine();
+        final PassThrough pass = new PassThrough();
+        final boolean passThrough;
+        IEnergyStorage[] neighbors;
+        // Where pass-through forwards to: only ahead, never back to where the energy came from.
+        IEnergyStorage[] outputs;
+        long energy;
+
+        Link(boolean passThrough) {
+            this.passThrough = passThrough;
+        }
+
+        long limit() {
+            return passThrough ? BUFFER : CAPACITY;
+        }
+
+        long tick(long rotation) {
+            pass.setBusy(true);
+            long budget = TransferEngine.pullBudget(energy, limit(), RATE, 1);
+            if (passThrough) {
+                long room = Math.max(0, limit() - energy) + engine.forward(outputs, 2, RATE, RATE, rotation, true);
+                budget = Math.min(RATE, room);
+            }
+            energy += engine.pull(neighbors, 2, budget, RATE, rotation);
+            energy -= engine.push(neighbors, 2, TransferEngine.pushBudget(energy, RATE, 1), RATE, rotation);
+            pass.setBusy(false);
+            return energy;
+        }
+
+        @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+            long amount = Math.min(maxReceive, RATE);
+            long room = Math.max(0, limit() - energy);
+            if (!passThrough) {
+                long taken = Math.min(amount, room);
+                if (!simulate) energy += taken;
+                return (int) taken;
+            }
+            long taken = pass.receive(engine, outputs, 2, amount, RATE, room, simulate);
+            if (!simulate) energy += taken - pass.forwarded();
+            return (int) taken;
+        }
+
+        @Override public int extractEnergy(int maxExtract, boolean simulate) {
+            int extracted = (int) Math.max(0, Math.min(Math.min(maxExtract, RATE), energy));
+            if (!simulate) energy -= extracted;
+            return extracted;
+        }
+
+        @Override public int getEnergyStored() { return (int) energy; }
+
+        @Override public int getMaxEnergyStored() { return (int) limit(); }
+
+        @Override public boolean canExtract() { return true; }
+
+        @Override public boolean canReceive() { return true; }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * =====================================
+ * TransferEngineBenchmark.java
+ * -------------------------------------
+ * One network tick (pull phase + push phase) of a single network, for
+ * different neighbor layouts and buffer fill levels. Mirrors what
+ * BridgeNetwork.tick does, minus the world.
+ *
+ *  - layout:    what the endpoints are (all sources, all sinks, half and half, nothing to do)
+ *  - fill:      how full the buffer is at the start of the tick
+ *  - endpoints: 6 = one bridge with every face used, 96 = a bigger network
+ *
+ * Run with "./gradlew jmh"; read ns/op for speed and gc.alloc.rate.norm for
+ * bytes allocated per tick (should stay at ~0).
+ * =====================================
+ */
+@State(Scope.Thread)
+public class TransferEngineBenchmark {
+    // Basic tier numbers: 100k FE per bridge, 2k FE/t per side.
+    private static final long CAPACITY_PER_MEMBER = 100_000;
+    private static final long RATE = 2_000;
+
+    public enum Layout { ALL_SOURCES, ALL_SINKS, MIXED, IDLE }
+
+    public enum Fill { EMPTY, HALF, FULL }
+
+    @Param({"ALL_SOURCES", "ALL_SINKS", "MIXED", "IDLE"})
+    public Layout layout;
+
+    @Param({"EMPTY", "HALF", "FULL"})
+    public Fill fill;
+
+    @Param({"6", "96"})
+    public int endpoints;
+
+    private final TransferEngine engine = new TransferEngine();
+    private IEnergyStorage[] sources;
+    private IEnergyStorage[] sinks;
+    private int members;
+    private long capacity;
+    private long startEnergy;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        members = Math.max(1, endpoints / 6);
+        capacity = CAPACITY_PER_MEMBER * members;
+        startEnergy = switch (fill) {
+            case EMPTY -> 0;
+            case HALF -> capacity / 2;
+            case FULL -> capacity;
+        };
+
+        IEnergyStorage[] neighbors = new IEnergyStorage[endpoints];
+        for (int i = 0; i < endpoints; i++) {
+            neighbors[i] = switch (layout) {
+                case ALL_SOURCES -> BenchStorage.source(1_500);
+                case ALL_SINKS -> BenchStorage.sink(1_500);
+                case MIXED -> i % 2 == 0 ? BenchStorage.source(1_500) : BenchStorage.sink(1_500);
+                case IDLE -> BenchStorage.idle();
+            };
+        }
+        // Every face is BOTH, so both phases see every endpoint (like BridgeNetwork fills its handler array).
+        sources = neighbors;
+        sinks = neighbors;
+        engine.ensureCapacity(endpoints);
+    }
+
+    @Benchmark
+    public long tick() {
+        // Every tick starts from the same fill level. (A @Setup(Level.Invocation) would cost more than the tick.)
+        long energy = startEnergy;
+        tick++;
+        long pulled = engine.pull(sources, endpoints,
+                TransferEngine.pullBudget(energy, capacity, RATE, members), RATE, tick);
+        energy += pulled;
+        long pushed = engine.push(sinks, endpoints,
+                TransferEngine.pushBudget(energy, RATE, members), RATE, tick);
+        energy -= pushed;
+        return energy;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.energybridge;
+
+import com.example.energybridge.content.BridgeTier;
+import net.neoforged.neoforge.common.ModConfigSpec;
+
+/**
+ * =====================================
+ * BridgeConfig.java
+ * -------------------------------------
+ * Server-side settings for the Energy Bridge. NeoForge writes these to
+ * "serverconfig/energybridge-server.toml" inside each world, so every server
+ * (or singleplayer world) can tune them without rebuilding the mod.
+ *
+ * Reading a value is just BridgeConfig.SOME_VALUE.get(); NeoForge caches the
+ * parsed value, so it is cheap enough to call from a tick.
+ * =====================================
+ */
+public final class BridgeConfig {
+    private BridgeConfig() {}
+
+    // The builder collects every setting below, then turns them into a "spec" (the file layout).
+    private static final ModConfigSpec.Builder BUILDER = new ModConfigSpec.Builder();
+
+    static {
+        BUILDER.comment("Settings that trade tick time against responsiveness.").push("ticking");
+    }
+
+    // How long a bridge may go without moving any energy before it falls asleep.
+    public static final ModConfigSpec.IntValue SLEEP_AFTER_TICKS = BUILDER
+            .comment("Ticks without any energy IO before a bridge goes to sleep and stops doing work.",
+                    "It wakes again when a neighbor changes or someone inserts/extracts energy. 0 = never sleep.")
+            .defineInRange("sleepAfterTicks", 40, 0, 72000);
+
+    // Safety net for neighbors whose energy changes without any block update (e.g. a battery being drained).
+    public static final ModConfigSpec.IntValue SLEEP_RECHECK_TICKS = BUILDER
+            .comment("A sleeping bridge still peeks at its neighbors once every this many ticks,",
+                    "in case their energy changed without a block update. 0 = only wake on events.")
+            .defineInRange("sleepRecheckTicks", 100, 0, 72000);
+
+    // Bulk power lines don't need per-tick granularity: move N ticks' worth every N ticks instead.
+    public static final ModConfigSpec.IntValue TRANSFER_INTERVAL_TICKS = BUILDER
+            .comment("Networks pull/push once every this many ticks, moving that many ticks' worth of energy at once",
+                    "(still limited by free space and stored energy). Networks are spread over the ticks by position,",
+                    "so the work doesn't spike. Average FE/t is unchanged. 1 = every tick.")
+            .defineInRange("transferIntervalTicks", 1, 1, 20);
+
+    // A full battery (or an empty generator) answers 0 every tick for minutes: stop asking it so often.
+    public static final ModConfigSpec.IntValue BACKOFF_AFTER_REFUSALS = BUILDER
+            .comment("After this many transfers in a row where a neighbor could take (or give) nothing, ask that side",
+                    "less and less often: the wait doubles each time, up to backoffMaxTicks. Energy moving on that side",
+                    "or its neighbor changing resets it to every transfer. 0 = always ask every side.")
+            .defineInRange("backoffAfterRefusals", 4, 0, 1000);
+
+    // Cap for the backoff above; also the longest a refusing neighbor waits after it has room again without a block update.
+    public static final ModConfigSpec.IntValue BACKOFF_MAX_TICKS = BUILDER
+            .comment("Longest wait (in ticks) between two questions to a neighbor that keeps refusing.")
+            .defineInRange("backoffMaxTicks", 32, 1, 1200);
+
+    // Forward inserted energy in the same call instead of buffering it for the next tick.
+    public static final ModConfigSpec.BooleanValue PASS_THROUGH = BUILDER
+            .comment("Pass-through mode: energy inserted into a bridge is passed straight on to the network's output",
+                    "neighbors in the same call (no tick of delay per hop). Only what they refuse is buffered,",
+                    "up to passThroughBuffer per bridge.")
+            .define("passThrough", false);
+
+    // The small buffer of pass-through mode (instead of the tier's capacity).
+    public static final ModConfigSpec.LongValue PASS_THROUGH_BUFFER = BUILDER
+            .comment("Pass-through mode: FE each bridge buffers for outputs that were full (capped at the tier's capacity).")
+            .defineInRange("passThroughBuffer", 1_000L, 0L, 1_000_000_000_000_000L);
+
+    // Central per-world scheduler instead of one vanilla ticker per bridge.
+    public static final ModConfigSpec.BooleanValue SCHEDULER_MODE = BUILDER
+            .comment("Tick bridge networks from one per-world scheduler with a time budget, instead of a ticker per bridge.",
+                    "Can be switched while the server runs: loaded bridges change over at the start of the next tick.")
+            .define("schedulerMode", false);
+
+    // How much time the scheduler may spend per world tick.
+    public static final ModConfigSpec.LongValue SCHEDULER_BUDGET_NANOS = BUILDER
+            .comment("Scheduler mode: time budget per world tick in nanoseconds (1,000,000 = 1 ms).",
+                    "Networks that don't fit wait for the next tick, in round-robin order. At least one always runs.")
+            .defineInRange("schedulerBudgetNanos", 2_000_000L, 10_000L, 50_000_000L);
+
+    // Plan transfers for many networks on worker threads; all FE API calls stay on the server thread.
+    public static final ModConfigSpec.BooleanValue PARALLEL_PLANNING = BUILDER
+            .comment("Scheduler mode: split each network's transfer plan off to a worker pool. Neighbors are still only",
+                    "called from the server thread, and networks sharing a neighbor block are ticked one by one as usual,",
+                    "so the energy moved is the same as without it. Limitation: storage shared by several blocks (cable",
+                    "networks, multiblocks) isn't recognised as shared; networks touching different blocks of it may split",
+                    "its energy differently than serial ticking would (nothing is created or lost).")
+            .define("parallelPlanning", false);
+
+    public static final ModConfigSpec.IntValue PLANNING_THREADS = BUILDER
+            .comment("Worker threads for parallel planning (0 = number of cores - 1, at most 4). Restart to apply.")
+            .defineInRange("planningThreads", 0, 0, 64);
+
+    public static final ModConfigSpec.IntValue PARALLEL_MIN_NETWORKS = BUILDER
+            .comment("Parallel planning: fewer networks than this in a tick are planned on the server thread,",
+                    "where handing them to the pool would cost more than it saves.")
+            .defineInRange("parallelMinNetworks", 64, 1, 1_000_000);
+
+    static {
+        BUILDER.pop();
+        BUILDER.comment("How the bridges' active state (the glow) is sent to players' clients.").push("sync");
+    }
+
+    // Changed bridges are collected and sent as one packet per chunk every this many ticks.
+    public static final ModConfigSpec.IntValue SYNC_INTERVAL_TICKS = BUILDER
+            .comment("Send queued active-state changes to clients once every this many ticks (one packet per chunk).")
+            .defineInRange("syncIntervalTicks", 10, 1, 1200);
+
+    static {
+        BUILDER.pop();
+        BUILDER.comment("Live stats (energy, FE/t per side) for players looking at a bridge.",
+                "Energy is never broadcast: only players who look at a bridge get its numbers.").push("inspection");
+    }
+
+    // Each watching player gets at most one stats packet per this many ticks.
+    public static final ModConfigSpec.IntValue INSPECT_INTERVAL_TICKS = BUILDER
+            .comment("Send live stats to each player looking at a bridge once every this many ticks.")
+            .defineInRange("updateTicks", 10, 1, 200);
+
+    static {
+        BUILDER.pop();
+        BUILDER.comment("The glow of bridges that are moving energy.").push("visual");
+    }
+
+    // Hysteresis, so a load that stops and starts every tick shows one steady glow instead of flickering.
+    public static final ModConfigSpec.IntValue ACTIVE_HOLD_TICKS = BUILDER
+            .comment("A network stays \"active\" (glowing) until it has moved no energy for this many ticks,",
+                    "and its active state changes at most once per this many ticks. 0 = follow every tick.")
+            .defineInRange("activeHoldTicks", 20, 0, 1200);
+
+    // The glow is drawn by the client; changing the block state costs a block update, relight and chunk re-mesh.
+    public static final ModConfigSpec.BooleanValue LIT_BLOCK_STATE = BUILDER
+            .comment("Also switch the LIT block state with the active state (for resource packs or mods that read it).",
+                    "Off: the block state never changes and the glow is only drawn on clients.")
+            .define("litBlockState", false);
+
+    static {
+        BUILDER.pop();
+        BUILDER.comment("When changed bridge energy is written to disk.",
+                "Bridges are always saved exactly when their chunk unloads and when the server stops.").push("persistence");
+    }
+
+    // Small drifts wait: chunks are marked for saving at most this often.
+    public static final ModConfigSpec.IntValue SAVE_INTERVAL_TICKS = BUILDER
+            .comment("Mark a network's chunks for saving at most once every this many ticks while its energy keeps changing.")
+            .defineInRange("saveIntervalTicks", 6000, 20, 72000);
+
+    // Big swings are saved right away.
+    public static final ModConfigSpec.IntValue SAVE_THRESHOLD_PERCENT = BUILDER
+            .comment("Mark a network's chunks for saving right away when its energy moved by at least this percentage",
+                    "of its capacity since the last time. 0 = on every change (the old behaviour).")
+            .defineInRange("saveThresholdPercent", 10, 0, 100);
+
+    // Unloaded bridges catch up on what they would have moved, instead of needing chunk loaders.
+    public static final ModConfigSpec.BooleanValue OFFLINE_CATCH_UP = BUILDER
+            .comment("When a bridge's chunk loads again, move in one go what its faces moved per tick before it unloaded,",
+                    "times the ticks it was away (only what its neighbors really give/take and its buffer holds).")
+            .define("offlineCatchUp", true);
+
+    // Longer absences are only caught up to this point.
+    public static final ModConfigSpec.IntValue CATCH_UP_MAX_TICKS = BUILDER
+            .comment("Most ticks of absence one catch-up makes up for (72000 = one hour).")
+            .defineInRange("catchUpMaxTicks", 72000, 0, 1_728_000);
+
+    static {
+        BUILDER.pop();
+        BUILDER.comment("Storage and transfer rates for each bridge tier (all in FE).").push("tiers");
+    }
+
+    // Highest maxIn/maxOut. Offers are summed per phase: rate x 20 ticks (longest interval) x 460,000 endpoints
+    // still fits a long, so a network's offers never saturate.
+    private static final long MAX_RATE = 1_000_000_000_000L;
+
+    /**
+     * The three settings of one tier. Rates above 2,147,483,647 FE/t are moved in several calls.
+     */
+    public record TierValues(ModConfigSpec.LongValue capacity, ModConfigSpec.LongValue maxIn, ModConfigSpec.LongValue maxOut) {}
+
+    // One entry per tier, indexed by BridgeTier.ordinal().
+    private static final TierValues[] TIERS = new TierValues[BridgeTier.values().length];
+
+    static {
+        for (BridgeTier tier : BridgeTier.values()) {
+            BUILDER.push(tier.getSerializedName());
+            TIERS[tier.ordinal()] = new TierValues(
+                    BUILDER.comment("Energy one bridge stores. A network stores this much per member.")
+                            .defineInRange("capacity", tier.defaultCapacity(), 1L, 1_000_000_000_000_000L),
+                    BUILDER.comment("Most energy one bridge pulls from one side per tick.")
+                            .defineInRange("maxIn", tier.defaultMaxIn(), 0L, MAX_RATE),
+                    BUILDER.comment("Most energy one bridge pushes to one side per tick.")
+                            .defineInRange("maxOut", tier.defaultMaxOut(), 0L, MAX_RATE));
+            BUILDER.pop();
+        }
+        BUILDER.pop();
+    }
+
+    /**
+     * @return the config values of one tier.
+     */
+    public static TierValues tier(BridgeTier tier) {
+        return TIERS[tier.ordinal()];
+    }
+
+    static {
+        BUILDER.comment("Built-in instrumentation (see /energybridge stats and the JFR event energybridge.SlowBridgeTick).").push("metrics");
+    }
+
+    // Counters and tick timing. Cheap enough to leave on; off skips even the clock reads.
+    public static final ModConfigSpec.BooleanValue METRICS_ENABLED = BUILDER
+            .comment("Count FE moved, capability lookups, block updates and sync packets, and time every network tick.")
+            .define("enabled", true);
+
+    // Network ticks slower than this are reported to Java Flight Recorder (only while a recording is running).
+    public static final ModConfigSpec.LongValue SLOW_TICK_NANOS = BUILDER
+            .comment("Network ticks taking at least this many nanoseconds emit a SlowBridgeTick JFR event (1,000,000 = 1 ms).")
+            .defineInRange("slowTickNanos", 500_000L, 0L, 1_000_000_000L);
+
+    // How many networks /energybridge stats lists per world.
+    public static final ModConfigSpec.IntValue STATS_TOP_N = BUILDER
+            .comment("How many of the most expensive bridge networks /energybridge stats lists per world.")
+            .defineInRange("statsTopN", 10, 1, 100);
+
+    static {
+        BUILDER.pop();
+        BUILDER.comment("Transfer trace for debugging lag or lost power: every network tick's decisions as binary records",
+                "in <world>/energybridge/trace-<dimension>.bin (read it with ./gradlew traceReport).").push("trace");
+    }
+
+    // Opt-in: costs a few memory writes per endpoint per tick while on.
+    public static final ModConfigSpec.BooleanValue TRACE_ENABLED = BUILDER
+            .comment("Record every network tick's pulls, pushes, LIT changes and active-state syncs.")
+            .define("enabled", false);
+
+    // Size of each world's ring file; the oldest records are overwritten when it is full.
+    public static final ModConfigSpec.IntValue TRACE_RING_MEGABYTES = BUILDER
+            .comment("Size of each world's trace file in MB (64 bytes per record). Changing it starts the file over.")
+            .defineInRange("ringMegabytes", 64, 1, 1024);
+
+    static {
+        BUILDER.pop();
+    }
+
+    // The finished spec; registered from EnergyBridgeMod.
+    public static final ModConfigSpec SPEC = BUILDER.build();
+}
@@ -1,8 +1,12 @@
 package com.example.energybridge;
 
+import com.example.energybridge.gametest.TestBlocks;
 import com.example.energybridge.registry.ModRegistries;
 import net.neoforged.bus.api.IEventBus;
+import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.config.ModConfig;
+import net.neoforged.neoforge.gametest.GameTestHooks;
 
 /**
  * ================================
@@ -27,9 +31,14 @@ public class EnergyBridgeMod {
     /**
      * Constructor called by NeoForge when the game starts.
      * @param modBus The mod-specific event bus. We use it to "hook in" our registrations.
+     * @param modContainer Our mod's container. We use it to register the config file.
      */
-    public EnergyBridgeMod(IEventBus modBus) {
+    public EnergyBridgeMod(IEventBus modBus, ModContainer modContainer) {
         // Register our blocks/items/block-entities so Minecraft knows about them.
         ModRegistries.register(modBus);
+        // Creative source/sink blocks for the GameTests; only exist in dev runs with GameTests enabled.
+        if (GameTestHooks.isGametestEnabled()) TestBlocks.register(modBus);
+        // Server settings (one file per world, synced from the server).
+        modContainer.registerConfig(ModConfig.Type.SERVER, BridgeConfig.SPEC);
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.energybridge.client;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBlock;
+import com.example.energybridge.network.BridgeInspectPayload;
+import com.example.energybridge.network.BridgeStatsPayload;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.HitResult;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * =====================================
+ * BridgeInspectClient.java (client only)
+ * -------------------------------------
+ * Tells the server which bridge the player looks at, and keeps the live
+ * stats it sends back for the HUD (BridgeInspectHud).
+ *
+ * Once per client tick we check the block under the crosshair. Only when it
+ * changes (a new bridge, or away from one) do we send a BridgeInspectPayload,
+ * so the server streams stats exactly while someone looks.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.GAME, value = Dist.CLIENT)
+public final class BridgeInspectClient {
+    private BridgeInspectClient() {}
+
+    // The bridge we told the server we look at (null = none).
+    @Nullable
+    private static BlockPos target;
+    // The latest stats of that bridge (null until the first packet arrives).
+    @Nullable
+    private static BridgeStatsPayload stats;
+
+    /**
+     * After each client tick: tell the server if the looked-at bridge changed.
+     */
+    @SubscribeEvent
+    public static void onClientTick(ClientTickEvent.Post event) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.getConnection() == null) return;
+        BlockPos looked = null;
+        if (mc.level != null && mc.hitResult instanceof BlockHitResult hit && hit.getType() == HitResult.Type.BLOCK
+                && mc.level.getBlockState(hit.getBlockPos()).getBlock() instanceof EnergyBridgeBlock) {
+            looked = hit.getBlockPos();
+        }
+        if (Objects.equals(looked, target)) return;
+        target = looked;
+        stats = null; // The old numbers belong to another bridge.
+        PacketDistributor.sendToServer(new BridgeInspectPayload(looked));
+    }
+
+    /**
+     * Leaving a server: its subscription ended with the connection.
+     */
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        target = null;
+        stats = null;
+    }
+
+    /**
+     * A stats packet arrived (see BridgeStatsPayload.handle). Late packets for an old target are dropped.
+     */
+    public static void onStats(BridgeStatsPayload payload) {
+        if (payload.pos().equals(target)) stats = payload;
+    }
+
+    /**
+     * @return the stats of the bridge the player looks at, or null if none (or none arrived yet).
+     */
+    @Nullable
+    public static BridgeStatsPayload current() {
+        return stats;
+    }
+}
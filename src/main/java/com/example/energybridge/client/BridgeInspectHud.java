@@ -0,0 +1,51 @@
+package com.example.energybridge.client;
+
+import com.example.energybridge.network.BridgeStatsPayload;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.LayeredDraw;
+import net.minecraft.core.Direction;
+import net.minecraft.network.chat.Component;
+
+/**
+ * =====================================
+ * BridgeInspectHud.java (client only)
+ * -------------------------------------
+ * A few lines of text next to the crosshair while the player looks at a
+ * bridge: its energy, and the FE/t going in and out of each busy side.
+ * The numbers come from the server (BridgeInspectClient), only while looking.
+ * =====================================
+ */
+final class BridgeInspectHud implements LayeredDraw.Layer {
+    // Distance of the text from the crosshair, in GUI pixels.
+    private static final int OFFSET = 8;
+    private static final int WHITE = 0xFFFFFF;
+
+    @Override
+    public void render(GuiGraphics graphics, DeltaTracker deltaTracker) {
+        Minecraft mc = Minecraft.getInstance();
+        BridgeStatsPayload stats = BridgeInspectClient.current();
+        if (stats == null || mc.options.hideGui) return;
+
+        Font font = mc.font;
+        int x = graphics.guiWidth() / 2 + OFFSET;
+        int y = graphics.guiHeight() / 2 + OFFSET;
+        graphics.drawString(font, Component.translatable("hud.energybridge.energy",
+                String.format("%,d", stats.energy()), String.format("%,d", stats.capacity())), x, y, WHITE);
+
+        boolean busy = false;
+        for (Direction side : Direction.values()) {
+            long in = stats.in(side);
+            long out = stats.out(side);
+            if (in == 0 && out == 0) continue;
+            y += font.lineHeight;
+            graphics.drawString(font, Component.translatable("hud.energybridge.side",
+                    Component.translatable("direction.energybridge." + side.getSerializedName()),
+                    String.format("%,d", in), String.format("%,d", out)), x, y, WHITE);
+            busy = true;
+        }
+        if (!busy) graphics.drawString(font, Component.translatable("hud.energybridge.idle"), x, y + font.lineHeight, WHITE);
+    }
+}
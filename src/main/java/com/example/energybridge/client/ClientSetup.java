@@ -0,0 +1,42 @@
+package com.example.energybridge.client;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.registry.ModRegistries;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.client.event.EntityRenderersEvent;
+import net.neoforged.neoforge.client.event.RegisterGuiLayersEvent;
+import net.neoforged.neoforge.client.gui.VanillaGuiLayers;
+
+/**
+ * =====================================
+ * ClientSetup.java (client only)
+ * -------------------------------------
+ * Hooks our client-side rendering into the game. NeoForge only loads this
+ * class on clients (value = Dist.CLIENT), so dedicated servers never touch
+ * rendering code.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
+public final class ClientSetup {
+    private ClientSetup() {}
+
+    /**
+     * Every bridge tier shares one block entity type, so one renderer covers them all.
+     */
+    @SubscribeEvent
+    public static void onRegisterRenderers(EntityRenderersEvent.RegisterRenderers event) {
+        event.registerBlockEntityRenderer(ModRegistries.ENERGY_BRIDGE_BE.get(), EnergyBridgeRenderer::new);
+    }
+
+    /**
+     * The live stats of the looked-at bridge, drawn just above the crosshair layer.
+     */
+    @SubscribeEvent
+    public static void onRegisterGuiLayers(RegisterGuiLayersEvent event) {
+        event.registerAbove(VanillaGuiLayers.CROSSHAIR,
+                ResourceLocation.fromNamespaceAndPath(EnergyBridgeMod.MODID, "bridge_inspect"), new BridgeInspectHud());
+    }
+}
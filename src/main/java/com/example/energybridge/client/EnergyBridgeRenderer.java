@@ -0,0 +1,58 @@
+package com.example.energybridge.client;
+
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.content.EnergyBridgeBlock;
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.BlockRenderDispatcher;
+import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
+import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.client.model.data.ModelData;
+
+/**
+ * =====================================
+ * EnergyBridgeRenderer.java (client only)
+ * -------------------------------------
+ * Draws the "active" glow of a bridge whose network is moving energy.
+ *
+ * The glow used to be the LIT block state, switched by the server. Every
+ * switch was a full block change: neighbor updates, a light recheck, a block
+ * packet and a chunk re-mesh on every nearby client, up to every tick under a
+ * fluctuating load. Now the server only sends the active flag, in the
+ * per-chunk BridgeSyncPayload (with hysteresis, see BridgeNetwork.updateActive),
+ * and we draw the lit model on top of the normal one, at full brightness,
+ * while it is set.
+ * Nothing in the world changes, so nothing is re-meshed.
+ * =====================================
+ */
+public class EnergyBridgeRenderer implements BlockEntityRenderer<EnergyBridgeBE> {
+    // The overlay is drawn a hair larger than the block, so it wins against the block's own faces.
+    private static final float GROW = 1.002f;
+
+    private final BlockRenderDispatcher blocks;
+
+    public EnergyBridgeRenderer(BlockEntityRendererProvider.Context context) {
+        this.blocks = context.getBlockRenderDispatcher();
+    }
+
+    @Override
+    public void render(EnergyBridgeBE be, float partialTick, PoseStack pose, MultiBufferSource buffers,
+                       int light, int overlay) {
+        if (!be.isActive()) return;
+        BlockState state = be.getBlockState();
+        // Not one of ours, or the server already switched LIT on (BridgeConfig.LIT_BLOCK_STATE): nothing to add.
+        if (!state.hasProperty(EnergyBridgeBlock.LIT) || state.getValue(EnergyBridgeBlock.LIT)) return;
+
+        pose.pushPose();
+        pose.translate(0.5, 0.5, 0.5);
+        pose.scale(GROW, GROW, GROW);
+        pose.translate(-0.5, -0.5, -0.5);
+        blocks.renderSingleBlock(state.setValue(EnergyBridgeBlock.LIT, true), pose, buffers,
+                LightTexture.FULL_BRIGHT, OverlayTexture.NO_OVERLAY, ModelData.EMPTY, RenderType.solid());
+        pose.popPose();
+    }
+}
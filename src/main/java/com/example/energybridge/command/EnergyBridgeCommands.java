@@ -0,0 +1,170 @@
+package com.example.energybridge.command;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeMetrics;
+import com.example.energybridge.content.BridgeNetworkManager;
+import com.example.energybridge.content.BridgeScheduler;
+import com.example.energybridge.content.BridgeSleepTracker;
+import com.example.energybridge.content.BridgeTrace;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.DimensionArgument;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * =====================================
+ * EnergyBridgeCommands.java
+ * -------------------------------------
+ * Server commands for operators, all under "/energybridge".
+ *
+ *  - /energybridge sleep     : how many bridges are awake vs. asleep in each world
+ *  - /energybridge scheduler : what the scheduler did last tick in each world (scheduler mode)
+ *  - /energybridge stats [dimension] : counters, tick-time histogram and the most expensive networks
+ *  - /energybridge backoff [pos] : how many neighbor faces are asked less often (backoff) in each world,
+ *                                  or what every face of the bridge at pos is doing
+ *  - /energybridge trace [on|off] : start or stop the transfer trace (see BridgeTrace), or where it is written
+ *
+ * Requires permission level 2 (the same as most vanilla admin commands).
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.GAME)
+public final class EnergyBridgeCommands {
+    private EnergyBridgeCommands() {}
+
+    /**
+     * NeoForge fires this whenever the command tree is (re)built, e.g. on server start and /reload.
+     */
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("energybridge")
+                .requires(src -> src.hasPermission(2))
+                .then(Commands.literal("sleep").executes(ctx -> {
+                    CommandSourceStack src = ctx.getSource();
+                    int total = 0;
+                    for (ServerLevel level : src.getServer().getAllLevels()) {
+                        int awake = BridgeSleepTracker.awake(level);
+                        int asleep = BridgeSleepTracker.asleep(level);
+                        if (awake + asleep == 0) continue; // Skip worlds without loaded bridges.
+                        total += awake + asleep;
+                        src.sendSuccess(() -> Component.literal(
+                                level.dimension().location() + ": " + awake + " awake, " + asleep + " asleep"), false);
+                    }
+                    if (total == 0) src.sendSuccess(() -> Component.literal("No Energy Bridges loaded."), false);
+                    return total;
+                }))
+                .then(Commands.literal("scheduler").executes(ctx -> {
+                    CommandSourceStack src = ctx.getSource();
+                    int worlds = 0;
+                    for (ServerLevel level : src.getServer().getAllLevels()) {
+                        BridgeScheduler scheduler = BridgeNetworkManager.scheduler(level);
+                        if (scheduler == null) continue;
+                        worlds++;
+                        src.sendSuccess(() -> Component.literal(level.dimension().location() + ": " + scheduler.describe()), false);
+                    }
+                    if (worlds == 0) src.sendSuccess(() -> Component.literal("No Energy Bridges loaded."), false);
+                    return worlds;
+                }))
+                .then(Commands.literal("stats")
+                        .executes(ctx -> stats(ctx.getSource(), null))
+                        .then(Commands.argument("dimension", DimensionArgument.dimension())
+                                .executes(ctx -> stats(ctx.getSource(), DimensionArgument.getDimension(ctx, "dimension")))))
+                .then(Commands.literal("backoff")
+                        .executes(ctx -> backoff(ctx.getSource()))
+                        .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                                .executes(ctx -> backoff(ctx.getSource(), BlockPosArgument.getLoadedBlockPos(ctx, "pos")))))
+                .then(Commands.literal("trace")
+                        .executes(ctx -> trace(ctx.getSource()))
+                        .then(Commands.literal("on").executes(ctx -> trace(ctx.getSource(), true)))
+                        .then(Commands.literal("off").executes(ctx -> trace(ctx.getSource(), false)))));
+    }
+
+    /**
+     * Start or stop the trace in every world, then print where it goes.
+     */
+    private static int trace(CommandSourceStack src, boolean on) {
+        BridgeTrace.setEnabled(src.getServer(), on);
+        return trace(src);
+    }
+
+    /**
+     * Print the trace file and record count of every world.
+     * @return how many worlds were reported.
+     */
+    private static int trace(CommandSourceStack src) {
+        int worlds = 0;
+        for (ServerLevel level : src.getServer().getAllLevels()) {
+            worlds++;
+            src.sendSuccess(() -> Component.literal(level.dimension().location() + ": " + BridgeTrace.describe(level)), false);
+        }
+        return worlds;
+    }
+
+    /**
+     * Print the backoff summary of every world with bridges.
+     * @return how many worlds were reported.
+     */
+    private static int backoff(CommandSourceStack src) {
+        int worlds = 0;
+        for (ServerLevel level : src.getServer().getAllLevels()) {
+            String line = BridgeNetworkManager.describeBackoff(level);
+            if (line == null) continue;
+            worlds++;
+            src.sendSuccess(() -> Component.literal(level.dimension().location() + ": " + line), false);
+        }
+        if (worlds == 0) src.sendSuccess(() -> Component.literal("No Energy Bridges loaded."), false);
+        return worlds;
+    }
+
+    /**
+     * Print what every neighbor face of one bridge is doing: asked every transfer, or backing off.
+     * @return how many faces with an energy neighbor the bridge has.
+     */
+    private static int backoff(CommandSourceStack src, BlockPos pos) {
+        if (!(src.getLevel().getBlockEntity(pos) instanceof EnergyBridgeBE be)) {
+            src.sendFailure(Component.literal("No Energy Bridge at " + pos.toShortString()));
+            return 0;
+        }
+        List<String> lines = be.describeBackoff();
+        if (lines.isEmpty()) src.sendSuccess(() -> Component.literal("No energy neighbors"), false);
+        for (String line : lines) src.sendSuccess(() -> Component.literal(line), false);
+        return lines.size();
+    }
+
+    /**
+     * Print the metrics of one world, or of every world with bridges when no dimension is given.
+     * @return how many worlds were reported.
+     */
+    private static int stats(CommandSourceStack src, @Nullable ServerLevel only) {
+        if (!BridgeConfig.METRICS_ENABLED.get()) {
+            src.sendSuccess(() -> Component.literal("Metrics are off (metrics.enabled in the server config)."), false);
+        }
+        int worlds = 0;
+        for (ServerLevel level : src.getServer().getAllLevels()) {
+            if (only != null && level != only) continue;
+            BridgeMetrics metrics = BridgeNetworkManager.metrics(level);
+            if (metrics == null) continue;
+            worlds++;
+            List<String> lines = metrics.describe(BridgeNetworkManager.networks(level), BridgeConfig.STATS_TOP_N.get());
+            src.sendSuccess(() -> Component.literal(level.dimension().location() + ":"), false);
+            for (String line : lines) src.sendSuccess(() -> Component.literal("  " + line), false);
+        }
+        if (worlds == 0) src.sendSuccess(() -> Component.literal("No Energy Bridges loaded."), false);
+        return worlds;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * =====================================
+ * BridgeBatch.java
+ * -------------------------------------
+ * Optional "parallel planning" (BridgeConfig.PARALLEL_PLANNING, scheduler mode
+ * only): the scheduler hands its round of networks to a batch, which ticks
+ * them in four stages instead of one after another:
+ *
+ *  1. Begin  (server thread): due check, endpoint update, handler look-ups.
+ *            Every network "claims" the blocks it touches (its members and
+ *            its endpoints) in one shared map.
+ *  2. Gather (server thread): simulated calls to every endpoint.
+ *  3. Plan   (worker pool):   the proportional split of pull and push. Pure
+ *            math on the gathered numbers; no world, no handler, no config.
+ *  4. Commit (server thread, in queue order): the real calls, then sleep,
+ *            LIT and save/sync, exactly as in a normal tick.
+ *
+ * Why the result matches ticking the same networks one by one (see the
+ * limitation below):
+ *  - A network whose blocks are claimed by no other network only ever calls
+ *    its own endpoints. Nothing else in the batch touches them, so it makes
+ *    no difference whether it gathers before or after the others commit.
+ *  - Conflict rule: networks that claim the same block (two networks feeding
+ *    one machine, or a network next to a bridge of another tier) and networks
+ *    that pull from and push to the same block (a battery) are marked serial.
+ *    They skip stages 2 and 3 and do the normal pull/push at commit time, in
+ *    queue order, so they see each other's changes just like before.
+ *  - If a source gives less than it promised, or a neighbor changed while
+ *    pulling, the planned push is thrown away and done the normal way.
+ * This assumes simulated calls change nothing.
+ *
+ * Known limitation: claims are per block, so storage shared by several blocks
+ * (a cable network, a multiblock, a shared-buffer mod) is not seen as shared.
+ * Two networks touching different blocks of one cable network can both gather
+ * its full offer before either commits. No energy is created or lost (the real
+ * calls report what really moved, and a short pull re-plans the push), but the
+ * split between the networks can differ from serial ticking.
+ *
+ * Only the planning runs off the server thread: other mods' handlers are not
+ * thread-safe, so every simulated and real call stays on the server thread.
+ * One batch per scheduler; the pool is shared by every world.
+ * =====================================
+ */
+final class BridgeBatch {
+    // Roles of a claimed endpoint block (see claim).
+    static final int PULLS = 1;
+    static final int PUSHES = 2;
+    // Networks per worker task; smaller batches aren't worth handing to another thread.
+    private static final int NETWORKS_PER_TASK = 16;
+
+    // Created on first use with BridgeConfig.PLANNING_THREADS threads (restart to change).
+    private static ForkJoinPool pool;
+
+    // The networks that work this tick, in queue order.
+    private final ObjectArrayList<BridgeNetwork> networks = new ObjectArrayList<>();
+    // The ones without conflicts, which are planned on the pool.
+    private final ObjectArrayList<BridgeNetwork> planned = new ObjectArrayList<>();
+    // Block position -> (index in `networks` of the first network that claimed it << 2 | its roles there).
+    private final Long2LongOpenHashMap claims = new Long2LongOpenHashMap();
+
+    // ======= Stats (read by /energybridge scheduler) =======
+    // Networks planned on the pool / ticked the serial way in the batches of the last world tick.
+    int lastParallel = 0;
+    int lastSerial = 0;
+
+    BridgeBatch() {
+        claims.defaultReturnValue(-1);
+    }
+
+    /**
+     * A new world tick: its batches start counting from 0.
+     */
+    void startTick() {
+        lastParallel = 0;
+        lastSerial = 0;
+    }
+
+    /**
+     * @return how many networks were added since the last run.
+     */
+    int size() {
+        return networks.size();
+    }
+
+    /**
+     * Stage 1 for one network: add it to the batch if it works this tick.
+     */
+    void add(ServerLevel level, BridgeNetwork network) {
+        if (network.batchBegin(level, this)) networks.add(network);
+    }
+
+    /**
+     * Record that the network being added touches this block. Called by BridgeNetwork.batchBegin.
+     * @param roles PULLS and/or PUSHES for an endpoint, 0 for a member.
+     */
+    void claim(long pos, BridgeNetwork network, int roles) {
+        int index = networks.size(); // The network being added gets the next index.
+        long old = claims.putIfAbsent(pos, (long) index << 2 | roles);
+        if (old == -1) return;
+
+        int owner = (int) (old >>> 2);
+        if (owner != index) {
+            // Shared with an earlier network: both go the serial way.
+            networks.get(owner).batchSerial = true;
+            network.batchSerial = true;
+            return;
+        }
+        long combined = old | roles;
+        claims.put(pos, combined);
+        if ((combined & (PULLS | PUSHES)) == (PULLS | PUSHES)) network.batchSerial = true;
+    }
+
+    /**
+     * Stages 2 to 4 for every network added since the last run, then start over empty.
+     */
+    void run(ServerLevel level) {
+        // Indexed loops: an iterator per loop per tick is garbage we don't need.
+        planned.clear();
+        for (int i = 0; i < networks.size(); i++) {
+            BridgeNetwork network = networks.get(i);
+            if (network.batchSerial) continue;
+            network.batchGather();
+            planned.add(network);
+        }
+
+        if (planned.size() >= BridgeConfig.PARALLEL_MIN_NETWORKS.get()) {
+            pool().invoke(new PlanTask(planned, 0, planned.size()));
+        } else {
+            for (int i = 0; i < planned.size(); i++) planned.get(i).batchPlan();
+        }
+
+        for (int i = 0; i < networks.size(); i++) networks.get(i).batchCommit(level);
+
+        lastParallel += planned.size();
+        lastSerial += networks.size() - planned.size();
+        networks.clear();
+        planned.clear();
+        claims.clear();
+    }
+
+    /**
+     * @return the shared planning pool, created on first use.
+     */
+    private static ForkJoinPool pool() {
+        if (pool == null) {
+            int threads = BridgeConfig.PLANNING_THREADS.get();
+            if (threads == 0) threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            pool = new ForkJoinPool(threads, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName("energybridge-planner-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        }
+        return pool;
+    }
+
+    /**
+     * Plans a range of networks, splitting it in half until it is small enough for one thread.
+     */
+    private static final class PlanTask extends RecursiveAction {
+        private final ObjectArrayList<BridgeNetwork> networks;
+        private final int from;
+        private final int to;
+
+        PlanTask(ObjectArrayList<BridgeNetwork> networks, int from, int to) {
+            this.networks = networks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= NETWORKS_PER_TASK) {
+                for (int i = from; i < to; i++) networks.get(i).batchPlan();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PlanTask(networks, from, mid), new PlanTask(networks, mid, to));
+        }
+    }
+}
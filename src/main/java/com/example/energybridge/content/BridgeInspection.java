@@ -0,0 +1,211 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.network.BridgeStatsPayload;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * =====================================
+ * BridgeInspection.java
+ * -------------------------------------
+ * Live stats for players looking at a bridge, sent only to them.
+ *
+ * Bridge energy is not broadcast to every player near a bridge (nobody sees it
+ * unless they look at one). Instead:
+ *  1. The client tells us which bridge its player looks at, or that it looks
+ *     away (BridgeInspectPayload, sent only when the target changes).
+ *  2. We remember one subscription per player and start counting what that
+ *     bridge's faces move ("watching" it).
+ *  3. Every BridgeConfig.INSPECT_INTERVAL_TICKS we send each subscriber one
+ *     BridgeStatsPayload: the bridge's energy and its FE/t in and out per side,
+ *     averaged since the last packet.
+ *  4. Looking away, walking out of reach, breaking the bridge, changing
+ *     dimension or logging out ends the subscription. The last one to stop
+ *     watching a bridge drops its counters.
+ *
+ * While nobody in a world watches anything, networks skip the per-side
+ * counting entirely (see watching()), so the tick costs nothing extra.
+ * One instance per world (owned by BridgeNetworkManager) for the counters;
+ * the subscriptions are server-wide. Everything runs on the server thread.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.GAME)
+public final class BridgeInspection {
+    // Counter layout: FE pulled in through side d at [d], FE pushed out through side d at [SIDES + d].
+    private static final int SIDES = EnergyBridgeBE.DIRECTIONS.length;
+    // A subscription survives this many blocks beyond the player's reach, so stepping back a little doesn't end it.
+    private static final double REACH_SLACK = 2.0;
+
+    // Every player's subscription (at most one each).
+    private static final Map<ServerPlayer, Subscription> SUBSCRIPTIONS = new HashMap<>();
+
+    // Watched bridge position (BlockPos.asLong()) -> what its faces moved since it was first watched.
+    private final Long2ObjectOpenHashMap<Watched> watched = new Long2ObjectOpenHashMap<>();
+
+    BridgeInspection() {}
+
+    /**
+     * @return true if anybody watches a bridge in this world (networks only count per side then).
+     */
+    boolean watching() {
+        return !watched.isEmpty();
+    }
+
+    /**
+     * Count FE one endpoint moved, if its bridge is watched. Called by BridgeNetwork after a commit.
+     * @param be     The member bridge the endpoint belongs to.
+     * @param side   The face the energy went through.
+     * @param pulled true for FE coming in, false for FE going out.
+     */
+    void record(EnergyBridgeBE be, Direction side, boolean pulled, long amount) {
+        Watched entry = watched.get(be.getBlockPos().asLong());
+        if (entry != null) entry.totals[(pulled ? 0 : SIDES) + side.ordinal()] += amount;
+    }
+
+    // ======= Watching (also used by GameTests) =======
+
+    /**
+     * Start counting what the faces of the bridge at pos move. Every call needs one matching unwatch().
+     */
+    public static void watch(ServerLevel level, BlockPos pos) {
+        BridgeNetworkManager.get(level).inspection.watched.computeIfAbsent(pos.asLong(), k -> new Watched()).watchers++;
+    }
+
+    /**
+     * Stop counting for one watcher; the counters go away with the last one.
+     */
+    public static void unwatch(ServerLevel level, BlockPos pos) {
+        BridgeNetworkManager manager = BridgeNetworkManager.getIfPresent(level);
+        if (manager == null) return;
+        Watched entry = manager.inspection.watched.get(pos.asLong());
+        if (entry != null && --entry.watchers <= 0) manager.inspection.watched.remove(pos.asLong());
+    }
+
+    /**
+     * @return a copy of the counters of a watched bridge (FE in per side, then FE out per side, by
+     * Direction.ordinal()), or null if nobody watches it.
+     */
+    @Nullable
+    public static long[] sideTotals(ServerLevel level, BlockPos pos) {
+        BridgeNetworkManager manager = BridgeNetworkManager.getIfPresent(level);
+        Watched entry = manager == null ? null : manager.inspection.watched.get(pos.asLong());
+        return entry == null ? null : entry.totals.clone();
+    }
+
+    // ======= Subscriptions =======
+
+    /**
+     * A client looks at a bridge, or at nothing (pos == null). Replaces the player's previous subscription.
+     * Requests for blocks the player can't reach, in unloaded chunks, or that aren't bridges are ignored.
+     */
+    public static void subscribe(ServerPlayer player, @Nullable BlockPos pos) {
+        Subscription old = SUBSCRIPTIONS.remove(player);
+        if (old != null) unwatch(old.level, old.pos);
+        if (pos == null) return;
+
+        ServerLevel level = player.serverLevel();
+        if (bridgeInReach(player, level, pos) == null) return;
+        Subscription subscription = new Subscription(level, pos.immutable());
+        watch(level, subscription.pos);
+        subscription.lastTime = level.getGameTime();
+        SUBSCRIPTIONS.put(player, subscription);
+        send(player, subscription); // The energy right away; the rates follow with the next update.
+    }
+
+    /**
+     * Every INSPECT_INTERVAL_TICKS: one stats packet per subscriber, or the end of its subscription.
+     */
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (SUBSCRIPTIONS.isEmpty()) return;
+        if (event.getServer().getTickCount() % BridgeConfig.INSPECT_INTERVAL_TICKS.get() != 0) return;
+        Iterator<Map.Entry<ServerPlayer, Subscription>> it = SUBSCRIPTIONS.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<ServerPlayer, Subscription> entry = it.next();
+            ServerPlayer player = entry.getKey();
+            Subscription subscription = entry.getValue();
+            // Removed = logged out, died and respawned, or changed dimension (a new player object).
+            if (player.isRemoved() || player.serverLevel() != subscription.level || !send(player, subscription)) {
+                it.remove();
+                unwatch(subscription.level, subscription.pos);
+            }
+        }
+    }
+
+    /**
+     * A player left: drop their subscription right away.
+     */
+    @SubscribeEvent
+    public static void onLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) subscribe(player, null);
+    }
+
+    /**
+     * Send one stats packet: the bridge's energy, and its FE/t per side since the last packet.
+     * @return false if the bridge is gone or out of reach (the subscription ends).
+     */
+    private static boolean send(ServerPlayer player, Subscription subscription) {
+        EnergyBridgeBE be = bridgeInReach(player, subscription.level, subscription.pos);
+        if (be == null) return false;
+        long[] totals = sideTotals(subscription.level, subscription.pos);
+        if (totals == null) return false;
+
+        long now = subscription.level.getGameTime();
+        long ticks = Math.max(1, now - subscription.lastTime);
+        long[] rates = new long[totals.length];
+        for (int i = 0; i < totals.length; i++) rates[i] = (totals[i] - subscription.lastTotals[i]) / ticks;
+        subscription.lastTotals = totals;
+        subscription.lastTime = now;
+
+        PacketDistributor.sendToPlayer(player, new BridgeStatsPayload(subscription.pos,
+                be.getEnergyStored(), be.getTier().capacity(), rates));
+        return true;
+    }
+
+    /**
+     * @return the bridge at pos if the player may look at it (loaded chunk, within reach), or null.
+     */
+    @Nullable
+    private static EnergyBridgeBE bridgeInReach(ServerPlayer player, ServerLevel level, BlockPos pos) {
+        if (!level.isLoaded(pos) || !player.canInteractWithBlock(pos, REACH_SLACK)) return null;
+        return level.getBlockEntity(pos) instanceof EnergyBridgeBE be ? be : null;
+    }
+
+    /**
+     * The counters of one watched bridge.
+     */
+    private static final class Watched {
+        final long[] totals = new long[SIDES * 2];
+        int watchers = 0;
+    }
+
+    /**
+     * What one player looks at, and the counters at their last packet.
+     */
+    private static final class Subscription {
+        final ServerLevel level;
+        final BlockPos pos;
+        long[] lastTotals = new long[SIDES * 2];
+        long lastTime;
+
+        Subscription(ServerLevel level, BlockPos pos) {
+            this.level = level;
+            this.pos = pos;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import net.minecraft.core.BlockPos;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgeMetrics.java
+ * -------------------------------------
+ * Per-world counters that show what bridges cost and what they do:
+ *  - FE pulled and pushed
+ *  - capability lookups (neighbor handlers asked during a tick)
+ *  - setBlockAndUpdate calls (LIT changes)
+ *  - sync packets sent to clients
+ *  - neighbor questions skipped because that side is backing off
+ *  - how long network ticks take, as a histogram with power-of-two buckets
+ *
+ * Each network also adds up its own tick time, so "/energybridge stats" can list
+ * the most expensive ones. Ticks slower than BridgeConfig.SLOW_TICK_NANOS are
+ * also reported to Java Flight Recorder as a SlowBridgeTickEvent.
+ *
+ * Everything is plain long fields on the server thread: no locks, no atomics.
+ * When metrics are turned off the tick does not even read the clock.
+ * One instance per world (owned by BridgeNetworkManager).
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.MOD)
+public final class BridgeMetrics {
+    // Copy of BridgeConfig.METRICS_ENABLED, refreshed when the config (re)loads, so the hot path reads a plain field.
+    static boolean enabled = false;
+    // Copy of BridgeConfig.SLOW_TICK_NANOS.
+    static long slowTickNanos = Long.MAX_VALUE;
+
+    // Bucket i counts ticks that took less than 2^i nanoseconds (and at least 2^(i-1)).
+    private static final int BUCKETS = 40;
+
+    // ======= Counters (since the world loaded) =======
+    long pulled = 0;
+    long pushed = 0;
+    long capabilityLookups = 0;
+    long blockUpdates = 0;
+    long syncPackets = 0;
+    long backoffSkips = 0;
+    long caughtUpIn = 0;
+    long caughtUpOut = 0;
+    long ticks = 0;
+    long tickNanos = 0;
+    private final long[] histogram = new long[BUCKETS];
+
+    BridgeMetrics() {}
+
+    /**
+     * Keep our copies of the config in step. Server configs load when a world is opened.
+     */
+    @SubscribeEvent
+    public static void onConfigLoad(ModConfigEvent.Loading event) {
+        refresh(event);
+    }
+
+    @SubscribeEvent
+    public static void onConfigReload(ModConfigEvent.Reloading event) {
+        refresh(event);
+    }
+
+    private static void refresh(ModConfigEvent event) {
+        if (event.getConfig().getSpec() != BridgeConfig.SPEC) return;
+        enabled = BridgeConfig.METRICS_ENABLED.get();
+        slowTickNanos = BridgeConfig.SLOW_TICK_NANOS.get();
+    }
+
+    /**
+     * Record one network tick (only called while metrics are enabled).
+     * @param network The network that ticked.
+     * @param nanos   How long its tick took.
+     */
+    void onTick(BridgeNetwork network, long nanos) {
+        ticks++;
+        tickNanos += nanos;
+        histogram[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))]++;
+        network.statTicks++;
+        network.statNanos += nanos;
+    }
+
+    /**
+     * @return the tick time (in ns) that this fraction of ticks stayed under, rounded up to a power of two.
+     */
+    private long percentile(double fraction) {
+        long target = (long) Math.ceil(ticks * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= target) return 1L << i;
+        }
+        return 1L << (BUCKETS - 1);
+    }
+
+    /**
+     * @param networks The world's live networks.
+     * @param topN     How many of the most expensive networks to list.
+     * @return the report lines for /energybridge stats.
+     */
+    public List<String> describe(Iterable<BridgeNetwork> networks, int topN) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("pulled %,d FE, pushed %,d FE, %,d capability lookups, %,d block updates, %,d sync packets",
+                pulled, pushed, capabilityLookups, blockUpdates, syncPackets));
+        lines.add(String.format("%,d neighbor questions skipped by backoff", backoffSkips));
+        lines.add(String.format("offline catch-up: pulled %,d FE, pushed %,d FE", caughtUpIn, caughtUpOut));
+        if (ticks == 0) {
+            lines.add("no network ticks timed yet");
+            return lines;
+        }
+        lines.add(String.format("%,d network ticks, avg %.1f µs, p50 < %.1f µs, p99 < %.1f µs, max < %.1f µs",
+                ticks, tickNanos / 1_000.0 / ticks, percentile(0.5) / 1_000.0, percentile(0.99) / 1_000.0,
+                percentile(1.0) / 1_000.0));
+
+        List<BridgeNetwork> top = new ArrayList<>();
+        for (BridgeNetwork network : networks) {
+            if (network.statTicks > 0 && !network.members.isEmpty()) top.add(network);
+        }
+        top.sort(Comparator.comparingLong((BridgeNetwork n) -> n.statNanos).reversed());
+        for (int i = 0; i < Math.min(topN, top.size()); i++) {
+            BridgeNetwork network = top.get(i);
+            BlockPos pos = network.members.get(0).getBlockPos();
+            lines.add(String.format("#%d %d %d %d (%d %s bridges): %.3f ms total over %,d ticks, avg %.1f µs",
+                    i + 1, pos.getX(), pos.getY(), pos.getZ(), network.members.size(), network.tier.getSerializedName(),
+                    network.statNanos / 1_000_000.0, network.statTicks, network.statNanos / 1_000.0 / network.statTicks));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,1212 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.trace.TraceFormat;
+import com.example.energybridge.trace.TraceRing;
+import com.example.energybridge.transfer.EnergyMath;
+import com.example.energybridge.transfer.PassThrough;
+import com.example.energybridge.transfer.TransferEngine;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgeNetwork.java
+ * -------------------------------------
+ * A group of Energy Bridges that touch each other. The whole group behaves
+ * like ONE big bridge:
+ *  - One shared energy buffer (capacity = members x the tier's capacity; all members share one tier)
+ *  - One list of "endpoints": the enabled faces of member bridges that touch
+ *    something with energy that is NOT another bridge (generators, batteries, machines...).
+ *    INPUT faces only pull, OUTPUT faces only push, BOTH faces do both (see FaceMode)
+ *  - One tick per game tick for the whole network, no matter how many members it has
+ *  - Fair sharing: each tick's budget is split across endpoints in proportion to
+ *    what they can give/take (TransferEngine + TransferPlanner), with one real call per endpoint
+ *
+ * So energy pulled in at one end of a 500-block bridge line can be pushed out
+ * at the other end in the same tick, for roughly the cost of a single bridge.
+ *
+ * Each member still saves its share of the energy (see shareOf), so the network
+ * can be put back together when chunks load again.
+ * =====================================
+ */
+public final class BridgeNetwork {
+    // The world-level manager that owns us.
+    final BridgeNetworkManager manager;
+
+    // ======= Members =======
+    // Every bridge in this network. Each member knows its own index (memberIndex) for quick removal.
+    final ObjectArrayList<EnergyBridgeBE> members = new ObjectArrayList<>();
+    // A member was removed, so we might have been cut in two. Checked before the next use (rebuild()).
+    boolean needsRebuild = false;
+    // Merged into another network or emptied; nothing should use us anymore.
+    boolean dead = false;
+
+    // ======= Shared buffer =======
+    // The tier of every member (bridges of different tiers never join).
+    BridgeTier tier = BridgeTier.BASIC;
+    // Energy stored in the whole network. Capacity is worked out from the tier, see capacity().
+    long energy = 0;
+
+    // ======= Endpoints (member face -> outside energy neighbor) =======
+    // Parallel arrays: endpoint i is side endpointSides[i] of bridge endpointMembers[i], in mode endpointModes[i].
+    private EnergyBridgeBE[] endpointMembers = new EnergyBridgeBE[6];
+    private Direction[] endpointSides = new Direction[6];
+    private FaceMode[] endpointModes = new FaceMode[6];
+    private int endpointCount = 0;
+    // The handlers the current phase works on (same length as the endpoint arrays), filled by pull()/push().
+    private IEnergyStorage[] endpointHandlers = new IEnergyStorage[6];
+    // Does the actual gather/plan/commit work; owns the planner's scratch arrays.
+    private final TransferEngine engine = new TransferEngine();
+    // A member's neighbors changed (or members came/went), so the endpoint list must be rebuilt.
+    boolean endpointsDirty = true;
+
+    // ======= Backoff (see BridgeConfig.BACKOFF_AFTER_REFUSALS) =======
+    // Index of each phase in the backoff arrays: slot = endpoint * 2 + PULL or PUSH.
+    private static final int PULL = 0;
+    private static final int PUSH = 1;
+    // Per endpoint and phase: simulated calls in a row that offered nothing, and the game time before which that
+    // endpoint is not asked again in that phase (0 = ask every transfer). Cleared when the endpoint list is rebuilt.
+    private int[] refusals = new int[12];
+    private long[] nextAsk = new long[12];
+    // Some endpoint is backing off (lets resetBackoff() skip its scan otherwise).
+    private boolean backingOff = false;
+
+    // ======= Flow (offline catch-up, see BridgeConfig.OFFLINE_CATCH_UP) =======
+    // Every window, endpoint members' rateIn/rateOut become the average FE/t of their faces over that window.
+    private static final int FLOW_WINDOW_TICKS = 200;
+    // A window cut short by an endpoint rebuild still counts if it lasted at least this long.
+    private static final int MIN_FLOW_TICKS = 20;
+    // Per endpoint and phase (same slots as the backoff arrays): FE really moved in the current window.
+    private long[] flow = new long[12];
+    // Game time the current window started.
+    private long flowSince = 0;
+
+    // ======= Persistence =======
+    // One member per chunk we span, used to mark those chunks as changed (see markChunksForSave).
+    private final ObjectArrayList<EnergyBridgeBE> chunkMembers = new ObjectArrayList<>();
+    private boolean chunkMembersDirty = true;
+    // The members' saved shares no longer match the buffer (energy moved, or members came/went since the last mark).
+    boolean unsaved = false;
+    // Energy and game time when our chunks were last marked for saving.
+    private long markedEnergy = 0;
+    private long markedTime;
+
+    // ======= Tick / sleep state =======
+    // Game time of our last tick, so we only tick once even though every member's ticker calls us.
+    private long lastTickTime = Long.MIN_VALUE;
+    // Ticks in a row without any energy moving. Reaching BridgeConfig.SLEEP_AFTER_TICKS puts us to sleep.
+    private int idleTicks = 0;
+    // While asleep the tick returns immediately (apart from the occasional recheck below).
+    boolean asleep = false;
+    // Spreads networks over the ticks of a transfer interval (see BridgeConfig.TRANSFER_INTERVAL_TICKS).
+    // A hash of the first member's position, so the same network keeps the same slot across reloads.
+    private long phase = 0;
+    // Ticks left until a sleeping network peeks at its neighbors again (0 = never).
+    private int recheckCountdown = 0;
+    // Game time of our last working tick (MIN_VALUE = none since we were created or fell asleep). A network the
+    // scheduler deferred past its phase tick works on the next tick it gets, and makes up for the ticks it missed.
+    private long lastWorked = Long.MIN_VALUE;
+    // The most ticks one working tick makes up for, beyond the transfer interval.
+    private static final int MAX_LATE_TICKS = 20;
+
+    // ======= Visual / client state =======
+    // Whether we count as "active" (clients draw the glow). Follows IO with hysteresis, see updateActive().
+    boolean active = false;
+    // Game time of the last IO and of the last change of `active`.
+    private long lastIoTime = Long.MIN_VALUE / 2;
+    private long activeChangedAt = Long.MIN_VALUE / 2;
+    // Members changed (or we just started): re-sync the active state and re-check LIT on every member.
+    private boolean activeDirty = true;
+    // Already waiting in BridgeSyncManager for the next client sync.
+    boolean syncQueued = false;
+    // Already in the BridgeScheduler queue (scheduler mode only).
+    boolean scheduled = false;
+
+    // ======= Pass-through (see BridgeConfig.PASS_THROUGH) =======
+    // Busy while we tick or forward: energy inserted then (e.g. through a loop of bridges) is buffered, not
+    // forwarded, and the engine's scratch arrays are in use. Also limits how deep bridges forward into each other.
+    private final PassThrough pass = new PassThrough();
+
+    // ======= Metrics (see BridgeMetrics) =======
+    // What the last tick did: FE moved, neighbor handlers asked for, block updates sent.
+    private long tickPulled = 0;
+    private long tickPushed = 0;
+    private int tickLookups = 0;
+    private int tickBlockUpdates = 0;
+    // Endpoint phases not asked this tick because they are backing off (each one is a saved simulated call).
+    private int tickBackoffSkips = 0;
+    // Our total tick time and number of timed ticks, for the "/energybridge stats" top list.
+    long statNanos = 0;
+    long statTicks = 0;
+
+    // ======= Batched tick (parallel planning, see BridgeBatch) =======
+    // Shares a block with another network of the batch, or pulls from and pushes to the same block:
+    // plain serial pull/push at commit time.
+    boolean batchSerial = false;
+    // Worked out on the server thread in batchBegin(), so batchPlan() never reads the config or the world.
+    private int batchInterval;
+    private long batchRotation;
+    private long batchPullRate;
+    private long batchPushRate;
+    private long batchCapacity;
+    private int batchMembers;
+    // Push-phase handlers (the pull phase uses endpointHandlers), and what batchPlan() decided.
+    private IEnergyStorage[] pushHandlers = new IEnergyStorage[6];
+    private long plannedIn;
+    private long plannedOut;
+    // The budgets those plans used (for the trace).
+    private long batchPullBudget;
+    private long batchPushBudget;
+    // Server-thread time spent on us so far this batch.
+    private long batchNanos;
+    // Backoff skips and capability lookups of batchBegin(), per phase. Charged to this tick's counters only when that
+    // phase runs from the batch, so a network that ends up serial (and asks again in pull()/push()) counts them once.
+    private int batchPullSkips;
+    private int batchPullLookups;
+    private int batchPushSkips;
+    private int batchPushLookups;
+
+    BridgeNetwork(BridgeNetworkManager manager) {
+        this.manager = manager;
+        this.markedTime = manager.level.getGameTime();
+    }
+
+    // ======= Membership =======
+
+    /**
+     * Start a brand-new network with one bridge (see BridgeNetworkManager.join).
+     */
+    void addFirstMember(EnergyBridgeBE be) {
+        be.ufParent = be;
+        be.ufNetwork = this;
+        be.memberIndex = 0;
+        be.joined = true;
+        members.add(be);
+        tier = be.tier;
+        phase = HashCommon.mix(be.getBlockPos().asLong());
+        energy = Math.min(be.storedEnergy, capacity());
+        markedEnergy = energy; // Just loaded (or placed): what's on disk is what we hold.
+    }
+
+    /**
+     * Move everything from another network into this one (the union step).
+     */
+    void absorb(BridgeNetwork other) {
+        // Sleep counts are per bridge, so wake both sides first to keep BridgeSleepTracker right.
+        wake();
+        other.wake();
+
+        for (EnergyBridgeBE be : other.members) {
+            be.memberIndex = members.size();
+            members.add(be);
+        }
+        energy = EnergyMath.saturatedAdd(energy, other.energy);
+        needsRebuild |= other.needsRebuild;
+        statNanos += other.statNanos;
+        statTicks += other.statTicks;
+        markMembersChanged();
+        unsaved = true; // Shares are spread over more members now.
+
+        if (other.syncQueued) BridgeSyncManager.queue(manager.level, this);
+        other.members.clear();
+        other.energy = 0;
+        other.dead = true;
+    }
+
+    /**
+     * Take a member out. It leaves with its share of the energy (already saved with its chunk).
+     */
+    void removeMember(EnergyBridgeBE be) {
+        long share = shareOf(be);
+        energy -= share;
+        be.storedEnergy = share;
+
+        // Swap-remove: move the last member into the freed slot.
+        EnergyBridgeBE last = members.pop();
+        if (last != be) {
+            members.set(be.memberIndex, last);
+            last.memberIndex = be.memberIndex;
+        }
+        be.memberIndex = -1;
+        be.joined = false;
+
+        // The removed bridge might have been the only link between two parts.
+        needsRebuild = !members.isEmpty();
+        markMembersChanged();
+        unsaved = true; // The remaining members' shares moved around.
+    }
+
+    /**
+     * Something about our members changed: endpoints, chunk list and active state must be looked at again.
+     */
+    private void markMembersChanged() {
+        endpointsDirty = true;
+        chunkMembersDirty = true;
+        activeDirty = true;
+    }
+
+    /**
+     * After removals: find which members still touch each other and split into separate networks if needed.
+     * Energy is shared out by member count. Runs once, no matter how many members were removed.
+     */
+    void rebuild() {
+        needsRebuild = false;
+        wake(); // Fresh networks start awake; keep the sleep counts consistent.
+
+        // Look members up by position, then flood-fill ("breadth-first search") from each unvisited one.
+        Long2ObjectOpenHashMap<EnergyBridgeBE> byPos = new Long2ObjectOpenHashMap<>(members.size());
+        for (EnergyBridgeBE be : members) byPos.put(be.getBlockPos().asLong(), be);
+
+        List<ObjectArrayList<EnergyBridgeBE>> parts = new ArrayList<>();
+        LongOpenHashSet visited = new LongOpenHashSet(members.size());
+        ArrayDeque<EnergyBridgeBE> queue = new ArrayDeque<>();
+        for (EnergyBridgeBE start : members) {
+            if (!visited.add(start.getBlockPos().asLong())) continue;
+            ObjectArrayList<EnergyBridgeBE> part = new ObjectArrayList<>();
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                EnergyBridgeBE be = queue.poll();
+                part.add(be);
+                long pos = be.getBlockPos().asLong();
+                for (Direction dir : EnergyBridgeBE.DIRECTIONS) {
+                    long next = BlockPos.offset(pos, dir);
+                    EnergyBridgeBE other = byPos.get(next);
+                    // A disabled face between two members cuts the link, so check the faces too.
+                    if (other != null && be.linksTo(dir, other) && visited.add(next)) queue.add(other);
+                }
+            }
+            parts.add(part);
+        }
+
+        // Share the energy by member count; rounding leftovers stay with the first part.
+        long total = energy;
+        int count = members.size();
+        long given = 0;
+        for (int i = parts.size() - 1; i >= 0; i--) {
+            ObjectArrayList<EnergyBridgeBE> part = parts.get(i);
+            BridgeNetwork target = i == 0 ? this : new BridgeNetwork(manager);
+            long partEnergy = i == 0 ? total - given
+                    : total / count * part.size() + total % count * part.size() / count;
+            given += partEnergy;
+            target.adopt(part, partEnergy);
+            if (target != this) manager.addNetwork(target);
+        }
+    }
+
+    /**
+     * Make this network consist of exactly these bridges, with a flat union-find (everyone points at the first).
+     */
+    private void adopt(ObjectArrayList<EnergyBridgeBE> part, long partEnergy) {
+        if (part != members) {
+            members.clear();
+            members.addAll(part);
+        }
+        EnergyBridgeBE root = members.get(0);
+        for (int i = 0; i < members.size(); i++) {
+            EnergyBridgeBE be = members.get(i);
+            be.memberIndex = i;
+            be.ufParent = root;
+            be.ufNetwork = null;
+        }
+        root.ufNetwork = this;
+        tier = root.tier;
+        phase = HashCommon.mix(root.getBlockPos().asLong());
+        energy = Math.min(partEnergy, capacity());
+        markMembersChanged();
+        unsaved = true;
+    }
+
+    /**
+     * @return how much the whole network can store: members x the tier's capacity (read live from the config).
+     */
+    long capacity() {
+        return EnergyMath.saturatedMultiply(tier.capacity(), members.size());
+    }
+
+    /**
+     * @return how far pulling and inserting may fill the buffer: capacity(), or in pass-through mode only the small
+     * PASS_THROUGH_BUFFER per member (energy above it from before the switch stays and is pushed out as usual).
+     */
+    long fillLimit() {
+        if (!BridgeConfig.PASS_THROUGH.get()) return capacity();
+        long perMember = Math.min(tier.capacity(), BridgeConfig.PASS_THROUGH_BUFFER.get());
+        return EnergyMath.saturatedMultiply(perMember, members.size());
+    }
+
+    /**
+     * How much of the shared energy belongs to one member. Shares are as equal as possible and always add up
+     * to the total, so saving every member saves the whole network.
+     */
+    long shareOf(EnergyBridgeBE be) {
+        int count = members.size();
+        if (count == 0 || be.memberIndex < 0) return 0;
+        return energy / count + (be.memberIndex < energy % count ? 1 : 0);
+    }
+
+    // ======= Tick =======
+
+    /**
+     * Move energy for the whole network. Every member's ticker calls this (or BridgeScheduler, in scheduler mode);
+     * only the first call per game tick does anything.
+     *
+     * With a transfer interval of N ticks, the network only works on one tick out of every N (which one depends on
+     * its phase), and then moves N ticks' worth of energy at once. Same FE/t on average, 1/N of the overhead,
+     * and different networks work on different ticks instead of all at once. A tick the scheduler deferred is made
+     * up for on the next tick we get, so deferring doesn't lower the FE/t either.
+     * @param level The server world.
+     */
+    void tick(ServerLevel level) {
+        long now = level.getGameTime();
+        int ticks = due(now);
+        if (ticks == 0) return;
+
+        // Metrics off: don't even read the clock.
+        if (!BridgeMetrics.enabled) {
+            work(level, now, ticks);
+            return;
+        }
+        long start = System.nanoTime();
+        work(level, now, ticks);
+        recordTick(level, System.nanoTime() - start);
+    }
+
+    /**
+     * Decide whether this game tick is one we work on. Counts down the sleep recheck, so call it once per tick.
+     * @return how many game ticks' worth of energy to move now (the transfer interval, or the ticks since our last
+     * working tick if the scheduler deferred us), or 0 to skip (already ticked, not our phase, or asleep).
+     */
+    private int due(long now) {
+        if (lastTickTime == now) return 0;
+        lastTickTime = now;
+
+        // ======= Staggering: only one tick in every N is ours (or any tick, once we are overdue) =======
+        int interval = BridgeConfig.TRANSFER_INTERVAL_TICKS.get();
+        boolean overdue = lastWorked != Long.MIN_VALUE && now - lastWorked >= interval;
+        if (interval > 1 && Math.floorMod(now + phase, interval) != 0 && !overdue) return 0;
+
+        // ======= Sleep: an idle network skips its tick until something wakes it =======
+        if (asleep) {
+            // Optional safety net: peek once in a while, in case a neighbor's energy changed without an update.
+            // (Counted in game ticks: each of our ticks stands for `interval` of them.)
+            if (recheckCountdown <= 0 || (recheckCountdown -= interval) > 0) return 0;
+            return interval; // Nothing moved while we slept: nothing to make up for.
+        }
+        long ticks = lastWorked == Long.MIN_VALUE ? interval : now - lastWorked;
+        lastWorked = now;
+        return (int) Math.max(1, Math.min(ticks, interval + MAX_LATE_TICKS));
+    }
+
+    /**
+     * Add a timed tick and its counters to the world's metrics (metrics on only).
+     */
+    private void recordTick(ServerLevel level, long nanos) {
+        BridgeMetrics metrics = manager.metrics;
+        metrics.onTick(this, nanos);
+        metrics.pulled += tickPulled;
+        metrics.pushed += tickPushed;
+        metrics.capabilityLookups += tickLookups;
+        metrics.blockUpdates += tickBlockUpdates;
+        metrics.backoffSkips += tickBackoffSkips;
+        if (nanos >= BridgeMetrics.slowTickNanos) reportSlowTick(level, nanos);
+    }
+
+    /**
+     * The actual work of a tick that isn't skipped: endpoints, pull, push, sleep, active state, save/sync.
+     * @param interval How many game ticks this tick stands for (see due()).
+     */
+    private void work(ServerLevel level, long now, int interval) {
+        pass.setBusy(true);
+        begin(level);
+
+        // Each phase: (1) ask every endpoint with simulate=true, (2) split the budget proportionally,
+        // (3) exactly one real call per endpoint. At most 4 calls per endpoint per tick, whatever happens.
+        // The rotation advances by one per transfer, so rounding leftovers visit every endpoint in turn.
+        long rotation = now / BridgeConfig.TRANSFER_INTERVAL_TICKS.get();
+        boolean pulled = pull(rotation, interval); // Did we pull energy from any endpoint this tick?
+        boolean pushed = push(rotation, interval); // Did we push energy to any endpoint this tick?
+
+        finish(level, pulled || pushed, interval);
+        pass.setBusy(false);
+    }
+
+    /**
+     * Start of a working tick: reset the tick counters and bring the endpoint list up to date.
+     */
+    private void begin(ServerLevel level) {
+        tickPulled = 0;
+        tickPushed = 0;
+        tickLookups = 0;
+        tickBlockUpdates = 0;
+        tickBackoffSkips = 0;
+
+        if (endpointsDirty) rebuildEndpoints(level);
+    }
+
+    /**
+     * End of a working tick: sleep bookkeeping, active state, save/sync.
+     * @param moved Whether any energy came in or went out this tick.
+     */
+    private void finish(ServerLevel level, boolean moved, int interval) {
+        // ======= Sleep bookkeeping: count idle ticks, or stay awake while energy is moving =======
+        if (moved) {
+            wake(); // A recheck that found work wakes us for good.
+        } else if (asleep) {
+            recheckCountdown = BridgeConfig.SLEEP_RECHECK_TICKS.get(); // Still idle: back to sleep.
+        } else {
+            int sleepAfter = BridgeConfig.SLEEP_AFTER_TICKS.get();
+            if (sleepAfter > 0 && (idleTicks += interval) >= sleepAfter) sleep();
+        }
+
+        // ======= Visual feedback: the glow follows IO, with hysteresis =======
+        if (updateActive(level.getGameTime(), moved) || activeDirty) onActiveChanged(level);
+
+        // ======= Save: only when energy actually moved =======
+        if (moved) onEnergyChanged();
+
+        // ======= Flow: what the members' faces move per tick, saved for the offline catch-up =======
+        if (level.getGameTime() - flowSince >= FLOW_WINDOW_TICKS && BridgeConfig.OFFLINE_CATCH_UP.get()) {
+            rollFlow(level.getGameTime());
+        }
+    }
+
+    /**
+     * PULL phase: fill the buffer from every INPUT/BOTH endpoint (see TransferEngine.pull).
+     * Budget: the tier's max-in per member (and per endpoint) times the interval, and never more than the free space.
+     * @param rotation Where rounding leftovers start, so no endpoint is always favoured.
+     * @param interval How many game ticks' worth of energy to move.
+     * @return true if any energy came in.
+     */
+    private boolean pull(long rotation, int interval) {
+        long rate = EnergyMath.saturatedMultiply(tier.maxIn(), interval);
+        long budget = TransferEngine.pullBudget(energy, fillLimit(), rate, members.size());
+        if (BridgeConfig.PASS_THROUGH.get() && endpointCount > 0) {
+            // The small buffer alone would starve the pull: also take what the outputs can take right now,
+            // which the push phase below passes straight on.
+            long room = EnergyMath.saturatedAdd(Math.max(0, fillLimit() - energy), outputRoom(rotation, interval));
+            budget = Math.min(EnergyMath.saturatedMultiply(rate, members.size()), room);
+        }
+        if (budget <= 0 || endpointCount == 0) return false;
+
+        // Look each handler up once for this phase; OUTPUT-only faces and backing-off endpoints never pull (null = skip).
+        for (int i = 0; i < endpointCount; i++) {
+            endpointHandlers[i] = endpointModes[i].input() ? askable(i, PULL) : null;
+        }
+        long moved = engine.pull(endpointHandlers, endpointCount, budget, rate, rotation);
+        noteOffers(PULL, endpointHandlers, interval);
+        if (BridgeTrace.enabled) tracePhase(PULL, budget, rotation, energy, energy + moved, endpointHandlers);
+        energy += moved;
+        tickPulled += moved;
+        if (moved > 0) afterCommit(PULL);
+        return moved > 0;
+    }
+
+    /**
+     * PUSH phase: send energy from the buffer to every OUTPUT/BOTH endpoint (see TransferEngine.push).
+     * Budget: the tier's max-out per member (and per endpoint) times the interval, and never more than what we have stored.
+     * @param rotation Where rounding leftovers start, so no endpoint is always favoured.
+     * @param interval How many game ticks' worth of energy to move.
+     * @return true if any energy went out.
+     */
+    private boolean push(long rotation, int interval) {
+        long rate = EnergyMath.saturatedMultiply(tier.maxOut(), interval);
+        long budget = TransferEngine.pushBudget(energy, rate, members.size());
+        if (budget <= 0 || endpointCount == 0) return false;
+
+        // Looked up again: pulling may have changed a neighbor (e.g. a machine that broke itself).
+        // INPUT-only faces and backing-off endpoints never push (null = skip).
+        for (int i = 0; i < endpointCount; i++) {
+            endpointHandlers[i] = endpointModes[i].output() ? askable(i, PUSH) : null;
+        }
+        long moved = engine.push(endpointHandlers, endpointCount, budget, rate, rotation);
+        noteOffers(PUSH, endpointHandlers, interval);
+        if (BridgeTrace.enabled) tracePhase(PUSH, budget, rotation, energy, energy - moved, endpointHandlers);
+        energy -= moved;
+        tickPushed += moved;
+        if (moved > 0) afterCommit(PUSH);
+        return moved > 0;
+    }
+
+    /**
+     * After a commit that moved energy: hand what each endpoint really moved to the flow window and, if someone is
+     * looking at a bridge, to BridgeInspection.
+     */
+    private void afterCommit(int phase) {
+        if (BridgeConfig.OFFLINE_CATCH_UP.get()) {
+            for (int i = 0; i < endpointCount; i++) {
+                flow[i * 2 + phase] += phase == PULL ? engine.pulledFrom(i) : engine.pushedTo(i);
+            }
+        }
+        if (manager.inspection.watching()) recordSides(phase == PULL);
+    }
+
+    /**
+     * Someone is looking at a bridge in this world: tell BridgeInspection what each endpoint of the last commit
+     * really moved (it only keeps the numbers of watched bridges).
+     * @param pulled true after a pull, false after a push.
+     */
+    private void recordSides(boolean pulled) {
+        for (int i = 0; i < endpointCount; i++) {
+            long amount = pulled ? engine.pulledFrom(i) : engine.pushedTo(i);
+            if (amount > 0) manager.inspection.record(endpointMembers[i], endpointSides[i], pulled, amount);
+        }
+    }
+
+    // ======= Pass-through =======
+
+    /**
+     * Pass-through mode: a neighbor inserts energy through a member's face. Forward as much as the output
+     * neighbors take right now, within this call, and buffer only the rest (up to fillLimit()).
+     * Nothing is forwarded (only buffered) while this network is busy (its own tick, or a loop of bridges that
+     * leads back into it) or when too many bridges are already forwarding into each other.
+     * @param member The bridge being inserted into.
+     * @param side   Its face (null = side-less access). The neighbor behind it never gets the energy back.
+     * @param amount How much the neighbor wants to insert (already capped at the tier's max-in).
+     * @return how much we took (or would take, with simulate).
+     */
+    long receivePassThrough(EnergyBridgeBE member, @Nullable Direction side, long amount, boolean simulate) {
+        if (amount > 0 && pass.canForward()) forwardTo(member, side);
+        long taken = pass.receive(engine, endpointHandlers, endpointCount, amount, tier.maxOut(),
+                Math.max(0, fillLimit() - energy), simulate);
+        long forwarded = pass.forwarded();
+        long buffered = taken - forwarded;
+        if (simulate || taken == 0) return taken;
+
+        if (forwarded > 0) afterCommit(PUSH);
+        energy += buffered;
+        lastIoTime = manager.level.getGameTime(); // Keeps the glow on, though our own tick may move nothing.
+        wake();
+        if (buffered > 0) onEnergyChanged();
+        if (BridgeMetrics.enabled) {
+            manager.metrics.pulled += taken;
+            manager.metrics.pushed += forwarded;
+        }
+        if (side != null && manager.inspection.watching()) manager.inspection.record(member, side, true, taken);
+        return taken;
+    }
+
+    /**
+     * Fill endpointHandlers with every OUTPUT/BOTH endpoint except the one the energy comes from, for
+     * PassThrough.receive (which forwards through TransferEngine.forward).
+     */
+    private void forwardTo(EnergyBridgeBE member, @Nullable Direction side) {
+        if (endpointsDirty) rebuildEndpoints(manager.level);
+        for (int i = 0; i < endpointCount; i++) {
+            boolean entry = endpointMembers[i] == member && endpointSides[i] == side;
+            endpointHandlers[i] = endpointModes[i].output() && !entry ? lookUp(i) : null;
+        }
+    }
+
+    /**
+     * Pass-through mode, pull phase: how much the output endpoints could take right now (simulated calls only).
+     */
+    private long outputRoom(long rotation, int interval) {
+        long rate = EnergyMath.saturatedMultiply(tier.maxOut(), interval);
+        for (int i = 0; i < endpointCount; i++) {
+            endpointHandlers[i] = endpointModes[i].output() && nextAsk[i * 2 + PUSH] <= lastTickTime ? lookUp(i) : null;
+        }
+        return engine.forward(endpointHandlers, endpointCount, EnergyMath.saturatedMultiply(rate, members.size()), rate,
+                rotation, true);
+    }
+
+    // ======= Offline catch-up =======
+
+    /**
+     * Close the flow window: every endpoint member's rateIn/rateOut becomes the average FE/t its faces moved in it.
+     * Members without endpoints keep their last rates; they have no neighbor to catch up with anyway.
+     */
+    private void rollFlow(long now) {
+        long ticks = Math.max(1, now - flowSince);
+        for (int i = 0; i < endpointCount; i++) {
+            endpointMembers[i].rateIn = 0;
+            endpointMembers[i].rateOut = 0;
+        }
+        for (int i = 0; i < endpointCount; i++) {
+            EnergyBridgeBE be = endpointMembers[i];
+            be.rateIn = EnergyMath.clampToInt(be.rateIn + flow[i * 2 + PULL] / ticks);
+            be.rateOut = EnergyMath.clampToInt(be.rateOut + flow[i * 2 + PUSH] / ticks);
+            flow[i * 2 + PULL] = 0;
+            flow[i * 2 + PUSH] = 0;
+        }
+        flowSince = now;
+    }
+
+    /**
+     * We fall asleep: no flow from now on.
+     */
+    private void stopFlow() {
+        for (int i = 0; i < endpointCount; i++) {
+            endpointMembers[i].rateIn = 0;
+            endpointMembers[i].rateOut = 0;
+        }
+        Arrays.fill(flow, 0, endpointCount * 2, 0);
+        flowSince = manager.level.getGameTime();
+    }
+
+    /**
+     * Offline catch-up: these members were just loaded from disk. Each one moves, in one go, what its faces moved
+     * per tick before it was saved (rateIn/rateOut) times the ticks since (at most CATCH_UP_MAX_TICKS), through its
+     * own endpoints. Only what the neighbors really give and take now is moved, and the buffer is respected:
+     * first every pull (up to the free space plus what the pushes will take), then every push.
+     * @param back Members with a savedAt (reset here).
+     * @param now  The current game time.
+     */
+    void catchUp(List<EnergyBridgeBE> back, long now) {
+        if (endpointsDirty) rebuildEndpoints(manager.level);
+        int maxTicks = BridgeConfig.CATCH_UP_MAX_TICKS.get();
+        pass.setBusy(true); // Pass-through: energy coming back in through a loop is only buffered.
+
+        // Simulated: how much the pushes will take, so the pulls may fill past the free space by that much.
+        long pushRoom = 0;
+        for (EnergyBridgeBE be : back) {
+            long owed = owed(be.rateOut, be.savedAt, now, maxTicks);
+            if (owed > 0 && memberHandlers(be, PUSH)) {
+                long room = engine.forward(endpointHandlers, endpointCount, owed, owed, now, true);
+                pushRoom = EnergyMath.saturatedAdd(pushRoom, room);
+            }
+        }
+        long pulled = 0;
+        for (EnergyBridgeBE be : back) {
+            long owed = owed(be.rateIn, be.savedAt, now, maxTicks);
+            long room = EnergyMath.saturatedAdd(Math.max(0, capacity() - energy), pushRoom);
+            long budget = Math.min(owed, room);
+            if (budget <= 0 || !memberHandlers(be, PULL)) continue;
+            long moved = engine.pull(endpointHandlers, endpointCount, budget, owed, now);
+            energy += moved;
+            pulled += moved;
+        }
+        long pushed = 0;
+        for (EnergyBridgeBE be : back) {
+            long budget = Math.min(owed(be.rateOut, be.savedAt, now, maxTicks), energy);
+            if (budget <= 0 || !memberHandlers(be, PUSH)) continue;
+            long moved = engine.forward(endpointHandlers, endpointCount, budget, budget, now, false);
+            energy -= moved;
+            pushed += moved;
+        }
+        for (EnergyBridgeBE be : back) be.savedAt = EnergyBridgeBE.NOT_SAVED;
+        pass.setBusy(false);
+
+        if (BridgeMetrics.enabled) {
+            manager.metrics.caughtUpIn += pulled;
+            manager.metrics.caughtUpOut += pushed;
+        }
+        if (pulled > 0 || pushed > 0) wake();
+        // Even if nothing moved: the saved time on disk is used up, so write the chunks again soon.
+        markChunksForSave();
+    }
+
+    /**
+     * @return rate x the ticks since savedAt (at most maxTicks), saturated.
+     */
+    private static long owed(int rate, long savedAt, long now, int maxTicks) {
+        if (rate <= 0) return 0;
+        return EnergyMath.saturatedMultiply(rate, Math.max(0, Math.min(now - savedAt, maxTicks)));
+    }
+
+    /**
+     * Point endpointHandlers at one member's endpoints that work in this phase (all others null).
+     * @return true if there is at least one.
+     */
+    private boolean memberHandlers(EnergyBridgeBE member, int phase) {
+        boolean any = false;
+        for (int i = 0; i < endpointCount; i++) {
+            boolean works = endpointMembers[i] == member
+                    && (phase == PULL ? endpointModes[i].input() : endpointModes[i].output());
+            endpointHandlers[i] = works ? lookUp(i) : null;
+            any |= endpointHandlers[i] != null;
+        }
+        return any;
+    }
+
+    // ======= Batched tick (parallel planning) =======
+    // BridgeBatch splits a tick into: batchBegin (server thread), batchGather (server thread, independent networks
+    // only), batchPlan (worker thread) and batchCommit (server thread, in queue order). Together they move exactly
+    // what tick() would have moved: see BridgeBatch for why.
+
+    /**
+     * Batch stage 1: the due check and endpoint update of tick(), then claim every block we touch
+     * (members and endpoints) in the batch, so networks that share a block are found.
+     * @return false if we don't work this tick.
+     */
+    boolean batchBegin(ServerLevel level, BridgeBatch batch) {
+        long now = level.getGameTime();
+        int interval = due(now);
+        if (interval == 0) return false;
+        long start = BridgeMetrics.enabled ? System.nanoTime() : 0;
+
+        begin(level);
+        // Pass-through networks reach into other networks' endpoints from their side handlers: always serial.
+        batchSerial = BridgeConfig.PASS_THROUGH.get();
+        batchInterval = interval;
+        batchRotation = now / BridgeConfig.TRANSFER_INTERVAL_TICKS.get();
+        batchPullRate = EnergyMath.saturatedMultiply(tier.maxIn(), interval);
+        batchPushRate = EnergyMath.saturatedMultiply(tier.maxOut(), interval);
+        batchCapacity = fillLimit();
+        batchMembers = members.size();
+
+        for (EnergyBridgeBE be : members) batch.claim(be.getBlockPos().asLong(), this, 0);
+        batchPullSkips = batchPullLookups = batchPushSkips = batchPushLookups = 0;
+        for (int i = 0; i < endpointCount; i++) {
+            FaceMode mode = endpointModes[i];
+            IEnergyStorage in = endpointHandlers[i] = mode.input() ? batchAskable(i, PULL) : null;
+            IEnergyStorage out = pushHandlers[i] = mode.output() ? batchAskable(i, PUSH) : null;
+            int roles = 0;
+            if (in != null && in.canExtract()) roles |= BridgeBatch.PULLS;
+            if (out != null && out.canReceive()) roles |= BridgeBatch.PUSHES;
+            batch.claim(BlockPos.offset(endpointMembers[i].getBlockPos().asLong(), endpointSides[i]), this, roles);
+        }
+
+        batchNanos = BridgeMetrics.enabled ? System.nanoTime() - start : 0;
+        return true;
+    }
+
+    /**
+     * Batch stage 2: ask every endpoint what it could give/take (simulate=true), before anything moves.
+     */
+    void batchGather() {
+        long start = BridgeMetrics.enabled ? System.nanoTime() : 0;
+        if (endpointCount > 0) {
+            if (TransferEngine.pullBudget(energy, batchCapacity, batchPullRate, batchMembers) > 0) {
+                engine.gatherPull(endpointHandlers, endpointCount, batchPullRate);
+                noteOffers(PULL, endpointHandlers, batchInterval);
+                tickBackoffSkips += batchPullSkips;
+                tickLookups += batchPullLookups;
+            }
+            // Push offers are noted in batchCommit(), once it is sure the push plan is used.
+            engine.gatherPush(pushHandlers, endpointCount, batchPushRate);
+        }
+        if (BridgeMetrics.enabled) batchNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Batch stage 3: plan pull and push from the gathered offers. Reads only our own fields and engine,
+     * so it runs on a worker thread while the server thread waits.
+     */
+    void batchPlan() {
+        plannedIn = 0;
+        plannedOut = 0;
+        batchPullBudget = 0;
+        batchPushBudget = 0;
+        if (endpointCount == 0) return;
+        long budget = batchPullBudget = TransferEngine.pullBudget(energy, batchCapacity, batchPullRate, batchMembers);
+        if (budget > 0) plannedIn = engine.planPull(endpointCount, budget, batchRotation);
+        // Push plans with what the pull will bring in; batchCommit checks that it really did.
+        budget = batchPushBudget = TransferEngine.pushBudget(energy + plannedIn, batchPushRate, batchMembers);
+        if (budget > 0) plannedOut = engine.planPush(endpointCount, budget, batchRotation);
+    }
+
+    /**
+     * Batch stage 4: the real calls, then the rest of the tick. Serial networks do the normal pull/push here.
+     */
+    void batchCommit(ServerLevel level) {
+        long start = BridgeMetrics.enabled ? System.nanoTime() : 0;
+        pass.setBusy(true);
+        boolean pulled;
+        boolean pushed;
+        if (batchSerial) {
+            pulled = pull(batchRotation, batchInterval);
+            pushed = push(batchRotation, batchInterval);
+        } else {
+            long in = plannedIn > 0 ? engine.commitPull(endpointHandlers, endpointCount) : 0;
+            if (BridgeTrace.enabled && batchPullBudget > 0) {
+                tracePhase(PULL, batchPullBudget, batchRotation, energy, energy + in, endpointHandlers);
+            }
+            energy += in;
+            tickPulled += in;
+            pulled = in > 0;
+            if (pulled) afterCommit(PULL);
+            if (in != plannedIn || (in > 0 && pushHandlersChanged())) {
+                // A source gave less than it promised, or a neighbor changed while pulling: the push plan is stale,
+                // so push exactly the way tick() would have.
+                pushed = push(batchRotation, batchInterval);
+            } else {
+                long out = plannedOut > 0 ? engine.commitPush(pushHandlers, endpointCount) : 0;
+                if (batchPushBudget > 0) {
+                    // As push() would have: the offers steer the backoff, the lookups and skips are counted.
+                    noteOffers(PUSH, pushHandlers, batchInterval);
+                    tickBackoffSkips += batchPushSkips;
+                    tickLookups += batchPushLookups;
+                }
+                if (BridgeTrace.enabled && batchPushBudget > 0) {
+                    tracePhase(PUSH, batchPushBudget, batchRotation, energy, energy - out, pushHandlers);
+                }
+                energy -= out;
+                tickPushed += out;
+                pushed = out > 0;
+                if (pushed) afterCommit(PUSH);
+            }
+        }
+        finish(level, pulled || pushed, batchInterval);
+        pass.setBusy(false);
+        if (BridgeMetrics.enabled) recordTick(level, batchNanos + System.nanoTime() - start);
+    }
+
+    /**
+     * Look the push handlers up again after pulling.
+     * @return true if any of them is no longer the one batchBegin() saw. Endpoints that were backing off
+     * were not asked at all, so only a neighbor that has just appeared behind an askable face counts for those.
+     */
+    private boolean pushHandlersChanged() {
+        for (int i = 0; i < endpointCount; i++) {
+            IEnergyStorage old = pushHandlers[i];
+            if (old != null) {
+                if (lookUp(i) != old) return true;
+            } else if (endpointModes[i].output() && nextAsk[i * 2 + PUSH] <= lastTickTime && lookUp(i) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * askable() for batchBegin(): the same answer, but the skip or lookup is only remembered (see batchPullSkips).
+     */
+    @Nullable
+    private IEnergyStorage batchAskable(int i, int phase) {
+        if (nextAsk[i * 2 + phase] > lastTickTime) {
+            if (phase == PULL) batchPullSkips++;
+            else batchPushSkips++;
+            return null;
+        }
+        if (phase == PULL) batchPullLookups++;
+        else batchPushLookups++;
+        return endpointMembers[i].neighborEnergy(endpointSides[i]);
+    }
+
+    // ======= Backoff =======
+
+    /**
+     * @return the handler behind endpoint i if it should be asked in this phase, or null if it is backing off
+     * (not due until nextAsk) or gone.
+     */
+    @Nullable
+    private IEnergyStorage askable(int i, int phase) {
+        if (nextAsk[i * 2 + phase] > lastTickTime) {
+            tickBackoffSkips++;
+            return null;
+        }
+        return lookUp(i);
+    }
+
+    /**
+     * After a gather: every endpoint that was asked and offered something goes back to every transfer; one that
+     * offered nothing BACKOFF_AFTER_REFUSALS times in a row waits 2, 4, 8... transfers (at most BACKOFF_MAX_TICKS).
+     * @param handlers The handlers of that phase (null = not asked).
+     * @param interval How many game ticks one of our transfers stands for.
+     */
+    private void noteOffers(int phase, IEnergyStorage[] handlers, int interval) {
+        int after = BridgeConfig.BACKOFF_AFTER_REFUSALS.get();
+        if (after == 0 && !backingOff) return;
+        for (int i = 0; i < endpointCount; i++) {
+            if (handlers[i] == null) continue;
+            int slot = i * 2 + phase;
+            long offer = phase == PULL ? engine.pullOffer(i) : engine.pushOffer(i);
+            if (offer > 0) {
+                refusals[slot] = 0;
+                nextAsk[slot] = 0;
+                continue;
+            }
+            if (refusals[slot] < Integer.MAX_VALUE) refusals[slot]++;
+            if (after == 0 || refusals[slot] < after) continue;
+            int doublings = Math.min(refusals[slot] - after + 1, 20);
+            long wait = Math.min((long) interval << doublings, BridgeConfig.BACKOFF_MAX_TICKS.get());
+            nextAsk[slot] = lastTickTime + wait;
+            backingOff = true;
+        }
+    }
+
+    /**
+     * A member's neighbor on these sides changed: ask those endpoints again on the next transfer.
+     * @param sides Bit per side (1 << Direction.ordinal()).
+     */
+    void resetBackoff(EnergyBridgeBE member, int sides) {
+        if (!backingOff) return;
+        for (int i = 0; i < endpointCount; i++) {
+            if (endpointMembers[i] != member || (sides & (1 << endpointSides[i].ordinal())) == 0) continue;
+            refusals[i * 2 + PULL] = refusals[i * 2 + PUSH] = 0;
+            nextAsk[i * 2 + PULL] = nextAsk[i * 2 + PUSH] = 0;
+        }
+    }
+
+    /**
+     * For /energybridge backoff: what every endpoint of one member is doing.
+     * @return one line per endpoint face of the member.
+     */
+    List<String> describeBackoff(EnergyBridgeBE member) {
+        List<String> lines = new ArrayList<>();
+        long now = manager.level.getGameTime();
+        for (int i = 0; i < endpointCount; i++) {
+            if (endpointMembers[i] != member) continue;
+            lines.add(endpointSides[i].getSerializedName() + " (" + endpointModes[i].getSerializedName() + "): "
+                    + describeSlot(i * 2 + PULL, "pull", now) + ", " + describeSlot(i * 2 + PUSH, "push", now));
+        }
+        return lines;
+    }
+
+    private String describeSlot(int slot, String name, long now) {
+        if (nextAsk[slot] > now) {
+            return name + " backing off (" + refusals[slot] + " refusals, next ask in " + (nextAsk[slot] - now) + " ticks)";
+        }
+        return refusals[slot] == 0 ? name + " every transfer" : name + " every transfer (" + refusals[slot] + " refusals)";
+    }
+
+    /**
+     * @return how many endpoint phases of this network are currently backing off (for /energybridge backoff).
+     */
+    int backedOffCount() {
+        if (!backingOff) return 0;
+        int count = 0;
+        for (int slot = 0; slot < endpointCount * 2; slot++) {
+            if (nextAsk[slot] > lastTickTime) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return how many endpoints we have (for /energybridge backoff).
+     */
+    int endpointCount() {
+        return endpointCount;
+    }
+
+    /**
+     * @return the current (cached) energy handler behind endpoint i, or null if it is gone.
+     */
+    @Nullable
+    private IEnergyStorage lookUp(int i) {
+        tickLookups++;
+        return endpointMembers[i].neighborEnergy(endpointSides[i]);
+    }
+
+    /**
+     * Rebuild the endpoint list: every enabled member face whose neighbor has energy and is not another bridge.
+     * Disabled faces are left out by refreshNeighbors() before any capability lookup.
+     */
+    private void rebuildEndpoints(ServerLevel level) {
+        // New list, new indices: close the old list's flow window (or drop it if it is too short to tell anything),
+        if (level.getGameTime() - flowSince >= MIN_FLOW_TICKS && BridgeConfig.OFFLINE_CATCH_UP.get()) {
+            rollFlow(level.getGameTime());
+        } else {
+            Arrays.fill(flow, 0, endpointCount * 2, 0);
+            flowSince = level.getGameTime();
+        }
+        // and every endpoint starts over at "ask every transfer".
+        if (backingOff) {
+            Arrays.fill(refusals, 0);
+            Arrays.fill(nextAsk, 0);
+            backingOff = false;
+        }
+        endpointCount = 0;
+        for (EnergyBridgeBE be : members) {
+            int sides = be.refreshNeighbors(level);
+            if (sides == 0) continue;
+            for (Direction dir : EnergyBridgeBE.DIRECTIONS) {
+                if ((sides & (1 << dir.ordinal())) == 0) continue;
+                tickLookups++;
+                // Touching bridges of our own network share our buffer; energy never needs to be sent to them.
+                // (A bridge of another tier is a normal neighbor.)
+                if (be.neighborEnergy(dir) instanceof EnergyBridgeBE.SideHandler handler
+                        && handler.owner().joined && handler.owner().network() == this) continue;
+                if (endpointCount == endpointMembers.length) {
+                    endpointMembers = Arrays.copyOf(endpointMembers, endpointCount * 2);
+                    endpointSides = Arrays.copyOf(endpointSides, endpointCount * 2);
+                    endpointModes = Arrays.copyOf(endpointModes, endpointCount * 2);
+                    endpointHandlers = new IEnergyStorage[endpointCount * 2];
+                    pushHandlers = new IEnergyStorage[endpointCount * 2];
+                    refusals = new int[endpointCount * 4];
+                    nextAsk = new long[endpointCount * 4];
+                    flow = new long[endpointCount * 4];
+                    engine.ensureCapacity(endpointCount * 2);
+                }
+                endpointMembers[endpointCount] = be;
+                endpointSides[endpointCount] = dir;
+                endpointModes[endpointCount] = be.getFaceMode(dir);
+                endpointCount++;
+            }
+        }
+        endpointsDirty = false;
+    }
+
+    /**
+     * Hysteresis for the active state: on as soon as energy moves, off only after ACTIVE_HOLD_TICKS without IO,
+     * and never two changes within ACTIVE_HOLD_TICKS. A load that flickers every tick gives one steady glow.
+     * @return true if the active state changed.
+     */
+    private boolean updateActive(long now, boolean moved) {
+        if (moved) lastIoTime = now;
+        int hold = BridgeConfig.ACTIVE_HOLD_TICKS.get();
+        if (now - activeChangedAt < hold) return false;
+        boolean shouldBeActive = moved || now - lastIoTime < hold;
+        if (shouldBeActive == active) return false;
+        active = shouldBeActive;
+        activeChangedAt = now;
+        return true;
+    }
+
+    /**
+     * Tell clients about the active state (they draw the glow, see EnergyBridgeRenderer), and keep the LIT block
+     * state in line: it follows the active state only with BridgeConfig.LIT_BLOCK_STATE, otherwise it stays off
+     * (which also switches off bridges saved lit by older versions).
+     */
+    private void onActiveChanged(ServerLevel level) {
+        activeDirty = false;
+        if (BridgeTrace.enabled && !members.isEmpty()) {
+            traceAction(TraceFormat.ACTIVE, members.get(0).getBlockPos().asLong(), active);
+        }
+        applyLit(level, active && BridgeConfig.LIT_BLOCK_STATE.get());
+        if (!syncQueued) BridgeSyncManager.queue(manager.level, this);
+    }
+
+    /**
+     * Set LIT on every member whose block state doesn't match yet.
+     */
+    private void applyLit(ServerLevel level, boolean shouldBeLit) {
+        for (EnergyBridgeBE be : members) {
+            BlockState state = be.getBlockState();
+            if (state.hasProperty(EnergyBridgeBlock.LIT) && state.getValue(EnergyBridgeBlock.LIT) != shouldBeLit) {
+                level.setBlockAndUpdate(be.getBlockPos(), state.setValue(EnergyBridgeBlock.LIT, shouldBeLit));
+                tickBlockUpdates++;
+                if (BridgeTrace.enabled) traceAction(TraceFormat.LIT, be.getBlockPos().asLong(), shouldBeLit);
+            }
+        }
+    }
+
+    // ======= Trace (see BridgeTrace) =======
+
+    /**
+     * Write one pull/push phase to the trace: the phase, then every endpoint that was asked (offer vs. moved, slot).
+     * @param handlers The phase's handlers (null = not asked: wrong mode, backing off, or gone).
+     */
+    private void tracePhase(int phase, long budget, long rotation, long before, long after, IEnergyStorage[] handlers) {
+        TraceRing ring = manager.trace.ring();
+        if (ring == null || members.isEmpty()) return;
+        long now = manager.level.getGameTime();
+        long network = members.get(0).getBlockPos().asLong();
+        boolean pull = phase == PULL;
+        // All slots, not just the asked ones: the planner's rounding leftover starts at rotation % endpointCount.
+        ring.write(now, network, rotation, budget, Math.abs(after - before), before, after,
+                pull ? TraceFormat.PULL : TraceFormat.PUSH, -1, -1, endpointCount);
+        for (int i = 0; i < endpointCount; i++) {
+            if (handlers[i] == null) continue;
+            ring.write(now, network, endpointMembers[i].getBlockPos().asLong(),
+                    pull ? engine.pullOffer(i) : engine.pushOffer(i), pull ? engine.pulledFrom(i) : engine.pushedTo(i),
+                    before, after, pull ? TraceFormat.PULL_ENDPOINT : TraceFormat.PUSH_ENDPOINT,
+                    endpointSides[i].ordinal(), endpointModes[i].ordinal(), i);
+        }
+    }
+
+    /**
+     * Write a LIT change or an active-state sync to the trace.
+     */
+    private void traceAction(byte kind, long pos, boolean state) {
+        TraceRing ring = manager.trace.ring();
+        if (ring == null || members.isEmpty()) return;
+        ring.write(manager.level.getGameTime(), members.get(0).getBlockPos().asLong(), pos, 0, state ? 1 : 0,
+                energy, energy, kind, -1, -1, 0);
+    }
+
+    /**
+     * Tell Java Flight Recorder about a slow tick. Does nothing unless a recording is running.
+     */
+    private void reportSlowTick(ServerLevel level, long nanos) {
+        SlowBridgeTickEvent event = new SlowBridgeTickEvent();
+        if (!event.isEnabled() || members.isEmpty()) return;
+        BlockPos pos = members.get(0).getBlockPos();
+        event.dimension = level.dimension().location().toString();
+        event.x = pos.getX();
+        event.y = pos.getY();
+        event.z = pos.getZ();
+        event.tier = tier.getSerializedName();
+        event.members = members.size();
+        event.endpointCount = endpointCount;
+        event.endpoints = SlowBridgeTickEvent.describeEndpoints(endpointMembers, endpointSides, endpointCount);
+        event.pulled = tickPulled;
+        event.pushed = tickPushed;
+        event.tickTime = nanos;
+        event.commit();
+    }
+
+    // ======= Energy changes from outside (side handlers) =======
+
+    /**
+     * Called whenever the shared buffer changed (from the tick or from a side handler).
+     * Marks our chunks for saving only when the energy drifted far enough or long enough ago
+     * (so active bridges don't keep their chunks dirty every autosave). Clients are not told: energy is only
+     * sent to players looking at a bridge (BridgeInspection).
+     */
+    void onEnergyChanged() {
+        unsaved = true;
+        long now = manager.level.getGameTime();
+        long threshold = capacity() / 100 * BridgeConfig.SAVE_THRESHOLD_PERCENT.get();
+        if (Math.abs(energy - markedEnergy) >= threshold || now - markedTime >= BridgeConfig.SAVE_INTERVAL_TICKS.get()) {
+            markChunksForSave();
+        }
+    }
+
+    /**
+     * Mark every chunk we span as changed, so the next save writes every member's current share.
+     * Also used for the exact save when the server stops (see BridgeNetworkManager).
+     */
+    void markChunksForSave() {
+        if (chunkMembersDirty) {
+            chunkMembers.clear();
+            LongOpenHashSet seen = new LongOpenHashSet();
+            for (EnergyBridgeBE be : members) {
+                if (seen.add(ChunkPos.asLong(be.getBlockPos()))) chunkMembers.add(be);
+            }
+            chunkMembersDirty = false;
+        }
+        // Marking one block entity per chunk is enough to get the whole chunk saved.
+        for (EnergyBridgeBE be : chunkMembers) be.setChanged();
+        markedEnergy = energy;
+        markedTime = manager.level.getGameTime();
+        unsaved = false;
+    }
+
+    // ======= Sleep / wake =======
+
+    /**
+     * Stop doing work every tick. Only called from our own tick, after a stretch of idle ticks.
+     */
+    private void sleep() {
+        if (asleep) return;
+        asleep = true;
+        recheckCountdown = BridgeConfig.SLEEP_RECHECK_TICKS.get();
+        lastWorked = Long.MIN_VALUE; // Woken up later, we start on our phase tick again, with no ticks to make up.
+        // No more ticks to turn the glow off later: do it now (applied by the caller, finish()).
+        if (active) {
+            active = false;
+            activeChangedAt = manager.level.getGameTime();
+            activeDirty = true;
+        }
+        // Nothing moves while we sleep: if our chunks unload now, there is nothing to catch up on.
+        stopFlow();
+        // The energy has settled: a good moment to save its final value once.
+        if (unsaved) markChunksForSave();
+        BridgeSleepTracker.changed(manager.level, true, members.size());
+    }
+
+    /**
+     * Resume ticking. Safe to call any time (does nothing if already awake).
+     */
+    void wake() {
+        idleTicks = 0;
+        if (!asleep) return;
+        asleep = false;
+        BridgeSleepTracker.changed(manager.level, false, members.size());
+    }
+}
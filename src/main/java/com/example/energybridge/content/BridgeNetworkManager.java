@@ -0,0 +1,339 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * =====================================
+ * BridgeNetworkManager.java
+ * -------------------------------------
+ * Keeps track of every BridgeNetwork in one world.
+ *
+ * Bridges that touch each other are joined with a "union-find" structure:
+ *  - Every bridge points at a parent bridge; following parents ends at the
+ *    network's "root" bridge, which holds the BridgeNetwork object.
+ *  - Placing (or loading) a bridge makes it its own little network, then
+ *    "unions" it with every touching bridge: the smaller network is hung
+ *    under the bigger one and its energy/members are moved over.
+ *  - Removing a bridge can cut a network in two. We don't find out right away;
+ *    the network is flagged and re-checks itself once before its next use
+ *    (see BridgeNetwork.rebuild()), so unloading a whole chunk costs one pass.
+ *
+ * One manager per server world; everything here runs on the server thread.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.GAME)
+public final class BridgeNetworkManager {
+    // Weak keys so an unloaded world (and its networks) is forgotten automatically.
+    private static final Map<Level, BridgeNetworkManager> BY_LEVEL = new WeakHashMap<>();
+
+    // The world this manager belongs to.
+    final ServerLevel level;
+    // Every live network in this world (insertion ordered, so iteration is deterministic).
+    final ObjectLinkedOpenHashSet<BridgeNetwork> networks = new ObjectLinkedOpenHashSet<>();
+    // Ticks our networks in scheduler mode (unused otherwise).
+    final BridgeScheduler scheduler = new BridgeScheduler();
+    // BridgeConfig.SCHEDULER_MODE as this world last applied it (see checkSchedulerMode).
+    boolean schedulerMode = BridgeConfig.SCHEDULER_MODE.get();
+    // Counters and tick timing for this world (see /energybridge stats).
+    final BridgeMetrics metrics = new BridgeMetrics();
+    // Per-side counters of bridges players are looking at (see BridgeInspection).
+    final BridgeInspection inspection = new BridgeInspection();
+    // The opt-in transfer trace file of this world (see BridgeTrace).
+    final BridgeTrace trace;
+    // Bridges with neighbor changes waiting to be handled at the start of the next world tick.
+    private final ObjectArrayList<EnergyBridgeBE> neighborChanges = new ObjectArrayList<>();
+    // Bridges loaded from disk with a saved flow, caught up at the start of the next world tick (see BridgeNetwork.catchUp).
+    private final ObjectArrayList<EnergyBridgeBE> catchUps = new ObjectArrayList<>();
+
+    private BridgeNetworkManager(ServerLevel level) {
+        this.level = level;
+        this.trace = new BridgeTrace(level);
+    }
+
+    /**
+     * @return the manager for this world, created on first use.
+     */
+    static BridgeNetworkManager get(ServerLevel level) {
+        return BY_LEVEL.computeIfAbsent(level, l -> new BridgeNetworkManager((ServerLevel) l));
+    }
+
+    /**
+     * @return the manager for this world, or null if it has no bridges yet.
+     */
+    @Nullable
+    static BridgeNetworkManager getIfPresent(ServerLevel level) {
+        return BY_LEVEL.get(level);
+    }
+
+    /**
+     * @return the scheduler for this world, or null if it has no bridges yet.
+     */
+    @Nullable
+    public static BridgeScheduler scheduler(ServerLevel level) {
+        BridgeNetworkManager manager = BY_LEVEL.get(level);
+        return manager == null ? null : manager.scheduler;
+    }
+
+    /**
+     * @return the metrics for this world, or null if it has no bridges yet.
+     */
+    @Nullable
+    public static BridgeMetrics metrics(ServerLevel level) {
+        BridgeNetworkManager manager = BY_LEVEL.get(level);
+        return manager == null ? null : manager.metrics;
+    }
+
+    /**
+     * @return for /energybridge backoff: how many endpoint phases are backing off and what that saved,
+     * or null if this world has no bridges yet.
+     */
+    @Nullable
+    public static String describeBackoff(ServerLevel level) {
+        BridgeNetworkManager manager = BY_LEVEL.get(level);
+        if (manager == null) return null;
+        int backingOff = 0;
+        int phases = 0;
+        for (BridgeNetwork network : manager.networks) {
+            backingOff += network.backedOffCount();
+            phases += network.endpointCount() * 2; // Pull and push.
+        }
+        return String.format("%,d of %,d endpoint pulls/pushes backing off, %,d neighbor questions skipped%s",
+                backingOff, phases, manager.metrics.backoffSkips, BridgeMetrics.enabled ? "" : " (metrics off: not counted)");
+    }
+
+    /**
+     * @return every live network in this world (read-only), or an empty list if there are none.
+     */
+    public static Collection<BridgeNetwork> networks(ServerLevel level) {
+        BridgeNetworkManager manager = BY_LEVEL.get(level);
+        return manager == null ? Collections.emptyList() : Collections.unmodifiableCollection(manager.networks);
+    }
+
+    /**
+     * A world is unloading: forget its networks (they hold bridges, which hold the world), and close its trace.
+     */
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (!(event.getLevel() instanceof Level level)) return;
+        BridgeNetworkManager manager = BY_LEVEL.remove(level);
+        if (manager != null) manager.trace.close();
+    }
+
+    /**
+     * Start of each world tick: handle the neighbor changes collected since the last one,
+     * once per bridge, however many block updates reached it. Then catch up bridges that were loaded.
+     */
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Pre event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        BridgeNetworkManager manager = BY_LEVEL.get(level);
+        if (manager == null) return;
+        manager.checkSchedulerMode();
+        if (!manager.neighborChanges.isEmpty()) {
+            for (EnergyBridgeBE be : manager.neighborChanges) be.handleNeighborChanges();
+            manager.neighborChanges.clear();
+        }
+        if (!manager.catchUps.isEmpty()) manager.runCatchUps();
+    }
+
+    /**
+     * Scheduler mode was switched (config reload, or a command): apply it to the bridges that already exist. Their
+     * tickers were picked when they were created, so every member gets the ticker of the new mode, and the scheduler
+     * queue is refilled from scratch on its next tick (or left empty when the mode is off).
+     */
+    private void checkSchedulerMode() {
+        boolean mode = BridgeConfig.SCHEDULER_MODE.get();
+        if (mode == schedulerMode) return;
+        schedulerMode = mode;
+        scheduler.reset();
+        for (BridgeNetwork network : networks) {
+            for (EnergyBridgeBE be : network.members) level.getChunkAt(be.getBlockPos()).updateBlockEntityTicker(be);
+        }
+    }
+
+    /**
+     * Remember a bridge until the start of the next world tick (it only queues itself once per tick).
+     */
+    void queueNeighborChange(EnergyBridgeBE be) {
+        neighborChanges.add(be);
+    }
+
+    /**
+     * Remember a bridge that was loaded with a saved flow until the start of the next world tick.
+     */
+    void queueCatchUp(EnergyBridgeBE be) {
+        catchUps.add(be);
+    }
+
+    /**
+     * Catch up the loaded bridges, network by network: all of one network's returning members together,
+     * so a bridge line that pulls at one end and pushes at the other is caught up as a whole.
+     */
+    private void runCatchUps() {
+        boolean enabled = BridgeConfig.OFFLINE_CATCH_UP.get();
+        Reference2ObjectLinkedOpenHashMap<BridgeNetwork, ObjectArrayList<EnergyBridgeBE>> byNetwork =
+                new Reference2ObjectLinkedOpenHashMap<>();
+        for (EnergyBridgeBE be : catchUps) {
+            // Gone again (or saved-and-loaded twice in one tick): nothing to do.
+            if (!enabled || !be.joined || be.savedAt == EnergyBridgeBE.NOT_SAVED) {
+                be.savedAt = EnergyBridgeBE.NOT_SAVED;
+                continue;
+            }
+            byNetwork.computeIfAbsent(be.network(), n -> new ObjectArrayList<>()).add(be);
+        }
+        catchUps.clear();
+        long now = level.getGameTime();
+        byNetwork.forEach((network, back) -> network.catchUp(back, now));
+    }
+
+    /**
+     * A chunk is about to be saved and unloaded. If a bridge in it belongs to a network whose saved shares are
+     * out of date, make sure the chunk is written, so the energy leaving with those bridges is saved exactly.
+     * With offline catch-up, every bridge chunk is written: the catch-up counts from the time of that save.
+     */
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel) || !(event.getChunk() instanceof LevelChunk chunk)) return;
+        boolean catchUp = BridgeConfig.OFFLINE_CATCH_UP.get();
+        for (BlockEntity be : chunk.getBlockEntities().values()) {
+            if (be instanceof EnergyBridgeBE bridge && bridge.joined && (catchUp || bridge.network().unsaved)) {
+                chunk.setUnsaved(true);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The server is stopping and will save every chunk: mark the chunks of every out-of-date network first.
+     * With offline catch-up, every network: game time stops with the server, so the saved time must be the last one.
+     */
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        boolean catchUp = BridgeConfig.OFFLINE_CATCH_UP.get();
+        for (ServerLevel level : event.getServer().getAllLevels()) {
+            BridgeNetworkManager manager = BY_LEVEL.get(level);
+            if (manager == null) continue;
+            for (BridgeNetwork network : manager.networks) {
+                if (network.unsaved || catchUp) network.markChunksForSave();
+            }
+        }
+    }
+
+    /**
+     * A bridge was placed or loaded: give it its own network, then merge with every loaded neighbor bridge.
+     * @param be The bridge joining the world.
+     */
+    void join(EnergyBridgeBE be) {
+        BridgeNetwork network = new BridgeNetwork(this);
+        network.addFirstMember(be);
+        addNetwork(network);
+        BridgeSleepTracker.add(level, false);
+        linkNeighbors(be);
+    }
+
+    /**
+     * One of a bridge's faces was disabled or enabled again: drop or add the link to the bridge on that side.
+     * @param be The joined bridge whose face mode changed.
+     */
+    void relink(EnergyBridgeBE be) {
+        // A link may be gone: like a removal, the next tick checks once whether the network was cut in two.
+        BridgeNetwork network = be.network();
+        network.needsRebuild = true;
+        network.endpointsDirty = true;
+        linkNeighbors(be);
+    }
+
+    /**
+     * Merge a bridge's network with every loaded neighbor bridge it links to.
+     */
+    private void linkNeighbors(EnergyBridgeBE be) {
+        for (Direction dir : EnergyBridgeBE.DIRECTIONS) {
+            EnergyBridgeBE other = loadedBridgeAt(be.getBlockPos().relative(dir));
+            // Only bridges of the same tier share a buffer, and never through a disabled face.
+            if (other != null && other.joined && be.linksTo(dir, other)) union(be, other);
+        }
+    }
+
+    /**
+     * Start tracking a new network (a fresh bridge, or a part split off by BridgeNetwork.rebuild()).
+     */
+    void addNetwork(BridgeNetwork network) {
+        networks.add(network);
+        if (schedulerMode) scheduler.enqueue(network);
+    }
+
+    /**
+     * A bridge was broken or unloaded: take its share of the energy out and flag the network for a re-check.
+     * @param be The bridge leaving the world.
+     */
+    void leave(EnergyBridgeBE be) {
+        // No rebuild here: a whole chunk of members may be leaving, and the next tick re-checks once.
+        BridgeNetwork network = be.network();
+        BridgeSleepTracker.remove(level, network.asleep);
+        network.removeMember(be);
+        if (network.members.isEmpty()) {
+            networks.remove(network);
+            network.dead = true;
+        }
+    }
+
+    /**
+     * Join the networks of two touching bridges into one.
+     * The network with fewer members is moved into the bigger one ("union by size"),
+     * which keeps the parent chains short.
+     */
+    void union(EnergyBridgeBE a, EnergyBridgeBE b) {
+        EnergyBridgeBE rootA = a.find();
+        EnergyBridgeBE rootB = b.find();
+        if (rootA == rootB) return; // Already the same network.
+
+        if (rootA.ufNetwork.members.size() < rootB.ufNetwork.members.size()) {
+            EnergyBridgeBE swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        BridgeNetwork keep = rootA.ufNetwork;
+        BridgeNetwork gone = rootB.ufNetwork;
+        rootB.ufParent = rootA;
+        rootB.ufNetwork = null;
+
+        keep.absorb(gone);
+        networks.remove(gone);
+    }
+
+    /**
+     * Find a bridge at a position WITHOUT loading its chunk.
+     * @return the bridge there, or null if the chunk isn't loaded or it's something else.
+     */
+    @Nullable
+    EnergyBridgeBE loadedBridgeAt(BlockPos pos) {
+        LevelChunk chunk = level.getChunkSource().getChunkNow(
+                SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+        if (chunk == null) return null;
+        BlockEntity be = chunk.getBlockEntities().get(pos);
+        return be instanceof EnergyBridgeBE bridge && !bridge.isRemoved() ? bridge : null;
+    }
+}
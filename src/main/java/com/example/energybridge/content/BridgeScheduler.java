@@ -0,0 +1,174 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayDeque;
+
+/**
+ * =====================================
+ * BridgeScheduler.java
+ * -------------------------------------
+ * Optional "scheduler mode" (BridgeConfig.SCHEDULER_MODE): instead of every
+ * bridge ticking itself through its vanilla ticker, each world ticks its
+ * networks from here, once per world tick, within a time budget.
+ *
+ *  - Networks wait in a first-in-first-out queue. Each tick we take networks
+ *    from the front, tick them, and put them at the back ("round-robin").
+ *  - When the time budget is used up we stop; the rest simply wait for the
+ *    next tick. Because the queue keeps its order, every network gets its turn
+ *    within a bounded number of ticks (fairness), and at least one network
+ *    runs every tick even if the budget is tiny.
+ *  - We count how many networks had to wait ("deferred"), so operators can
+ *    tune the budget against throughput.
+ *  - With BridgeConfig.PARALLEL_PLANNING the round's networks are collected
+ *    into a BridgeBatch instead of ticked one by one, and their transfers are
+ *    planned on a worker pool (see BridgeBatch). Adding a network only begins
+ *    its tick; the real work happens when the batch runs. So the batch is run
+ *    whenever it is full (BATCH_NETWORKS) or its measured cost per network
+ *    says it would use up the rest of the budget, and the budget is checked
+ *    after each run.
+ *
+ * One scheduler per world (owned by BridgeNetworkManager); server thread only.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.GAME)
+public final class BridgeScheduler {
+    // The world's networks, in round-robin order.
+    private final ArrayDeque<BridgeNetwork> queue = new ArrayDeque<>();
+    // Whether the queue has been filled with the networks that existed before scheduler mode was switched on.
+    private boolean seeded = false;
+    // Parallel planning: the networks of the current round (empty between ticks).
+    private final BridgeBatch batch = new BridgeBatch();
+    private boolean lastBatched = false;
+    // Parallel planning: most networks per batch run (at least BridgeConfig.PARALLEL_MIN_NETWORKS, so a full batch
+    // goes to the pool).
+    private static final int BATCH_NETWORKS = 256;
+    // What running the batch cost per network last time (nanoseconds), to see when the budget will run out.
+    private long runNanosPerNetwork = 0;
+
+    // ======= Stats (read by /energybridge scheduler) =======
+    // Networks ticked / left waiting in the last world tick, and how long it took.
+    int lastRan = 0;
+    int lastDeferred = 0;
+    long lastNanos = 0;
+    // Running total of deferred network ticks since the world loaded.
+    long totalDeferred = 0;
+
+    BridgeScheduler() {}
+
+    /**
+     * @return a one-line summary of the last tick, for the /energybridge scheduler command.
+     */
+    public String describe() {
+        String text = String.format("%d ran, %d deferred, %.3f ms last tick; %d deferred in total",
+                lastRan, lastDeferred, lastNanos / 1_000_000.0, totalDeferred);
+        if (!lastBatched) return text;
+        return text + String.format("; %d planned in parallel, %d serial", batch.lastParallel, batch.lastSerial);
+    }
+
+    /**
+     * @return how many networks the last parallel batch planned on the worker pool (0 without parallel planning).
+     */
+    public int lastPlannedInParallel() {
+        return lastBatched ? batch.lastParallel : 0;
+    }
+
+    /**
+     * Add a network to the back of the queue (a network is never queued twice).
+     */
+    void enqueue(BridgeNetwork network) {
+        if (network.scheduled) return;
+        network.scheduled = true;
+        queue.addLast(network);
+    }
+
+    /**
+     * Empty the queue (scheduler mode was switched). If it is on, the next tick refills it with every network.
+     */
+    void reset() {
+        for (BridgeNetwork network : queue) network.scheduled = false;
+        queue.clear();
+        seeded = false;
+    }
+
+    /**
+     * After each world tick: run queued networks until the budget is spent.
+     */
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (!level.tickRateManager().runsNormally()) return; // "/tick freeze" stops bridges too.
+        BridgeNetworkManager manager = BridgeNetworkManager.getIfPresent(level);
+        // The world's applied mode, not the config: a switch takes effect at the start of a tick (see the manager).
+        if (manager != null && manager.schedulerMode) manager.scheduler.tick(manager);
+    }
+
+    /**
+     * Tick at most one full round of networks, stopping early when the time budget runs out.
+     */
+    private void tick(BridgeNetworkManager manager) {
+        if (!seeded) {
+            // Scheduler mode was just switched on (or the world just loaded): pick up every existing network.
+            for (BridgeNetwork network : manager.networks) enqueue(network);
+            seeded = true;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + BridgeConfig.SCHEDULER_BUDGET_NANOS.get();
+        boolean batched = BridgeConfig.PARALLEL_PLANNING.get();
+        int round = queue.size(); // Networks created during this tick wait for the next one.
+        int batchSize = Math.max(BATCH_NETWORKS, BridgeConfig.PARALLEL_MIN_NETWORKS.get());
+        int ran = 0;
+        int deferred = 0;
+        batch.startTick();
+        for (int i = 0; i < round; i++) {
+            BridgeNetwork network = queue.pollFirst();
+            if (network.dead) {
+                network.scheduled = false; // Merged away or emptied: drop it from the queue.
+                continue;
+            }
+            queue.addLast(network);
+
+            // Members were removed since the last tick: check once whether the network was cut in two.
+            if (network.needsRebuild) network.rebuild();
+            ran++;
+            if (batched) {
+                // Adding only begins the network's tick: the time is spent when the batch runs.
+                batch.add(manager.level, network);
+                if (batch.size() < batchSize && System.nanoTime() + batch.size() * runNanosPerNetwork < deadline) continue;
+                runBatch(manager);
+            } else {
+                network.tick(manager.level);
+            }
+
+            // Out of time: everything still in front of the queue waits for the next tick.
+            if (System.nanoTime() >= deadline) {
+                deferred = round - i - 1;
+                break;
+            }
+        }
+        // Parallel planning: plan and commit the networks of the last, partly filled batch.
+        if (batched && batch.size() > 0) runBatch(manager);
+        lastBatched = batched;
+
+        lastRan = ran;
+        lastDeferred = deferred;
+        lastNanos = System.nanoTime() - start;
+        totalDeferred += deferred;
+    }
+
+    /**
+     * Plan and commit the networks added to the batch so far, and remember what that cost per network.
+     */
+    private void runBatch(BridgeNetworkManager manager) {
+        int size = batch.size();
+        long start = System.nanoTime();
+        batch.run(manager.level);
+        runNanosPerNetwork = (System.nanoTime() - start) / size;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.energybridge.content;
+
+import net.minecraft.world.level.Level;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * =====================================
+ * BridgeSleepTracker.java
+ * -------------------------------------
+ * Counts how many Energy Bridges are awake (doing work every tick) and how
+ * many are asleep (idle, skipping their tick) in each world.
+ *
+ * Bridges sleep and wake together with their network, so the counts change
+ * by the size of the network. This is only bookkeeping so operators can see
+ * how much sleeping saves (see the "/energybridge sleep" command).
+ * It runs on the server thread only.
+ * =====================================
+ */
+public final class BridgeSleepTracker {
+    private BridgeSleepTracker() {}
+
+    // Index 0 = awake, index 1 = asleep. Weak keys so an unloaded world is forgotten automatically.
+    private static final Map<Level, int[]> COUNTS = new WeakHashMap<>();
+
+    /** A bridge started being tracked (loaded or placed). */
+    static void add(Level level, boolean asleep) {
+        counts(level)[asleep ? 1 : 0]++;
+    }
+
+    /** A bridge stopped being tracked (broken or unloaded). */
+    static void remove(Level level, boolean asleep) {
+        counts(level)[asleep ? 1 : 0]--;
+    }
+
+    /** A network of {@code bridges} bridges went from awake to asleep, or back. */
+    static void changed(Level level, boolean nowAsleep, int bridges) {
+        int[] c = counts(level);
+        c[nowAsleep ? 0 : 1] -= bridges;
+        c[nowAsleep ? 1 : 0] += bridges;
+    }
+
+    /** @return how many bridges are awake in this world. */
+    public static int awake(Level level) {
+        int[] c = COUNTS.get(level);
+        return c == null ? 0 : c[0];
+    }
+
+    /** @return how many bridges are asleep in this world. */
+    public static int asleep(Level level) {
+        int[] c = COUNTS.get(level);
+        return c == null ? 0 : c[1];
+    }
+
+    private static int[] counts(Level level) {
+        return COUNTS.computeIfAbsent(level, l -> new int[2]);
+    }
+}
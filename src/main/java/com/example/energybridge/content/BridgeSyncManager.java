@@ -0,0 +1,113 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.network.BridgeSyncPayload;
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * =====================================
+ * BridgeSyncManager.java
+ * -------------------------------------
+ * Collects networks whose active state (the glow) changed and, once every sync interval, sends
+ * ONE BridgeSyncPayload per chunk to the players watching that chunk.
+ *
+ *  - Networks queue themselves when their active state changes (at most once per interval);
+ *    every member glows with its network, so all members are checked at sync time.
+ *  - Energy is NOT sent here: nobody sees it unless they look at a bridge, and then
+ *    BridgeInspection streams it to that one player.
+ *  - The full block entity packet (getUpdateTag) is only used for the initial chunk load.
+ *
+ * One manager per server world; all of this runs on the server thread.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.GAME)
+public final class BridgeSyncManager {
+    // Weak keys so an unloaded world (and its queued bridges) is forgotten automatically.
+    private static final Map<Level, BridgeSyncManager> BY_LEVEL = new WeakHashMap<>();
+
+    // Networks whose active state changed since the last sync.
+    private final ObjectArrayList<BridgeNetwork> queued = new ObjectArrayList<>();
+
+    private BridgeSyncManager() {}
+
+    /**
+     * Queue a network for the next sync. The network's own flag keeps it from being queued twice.
+     * @param level   The server world the network is in.
+     * @param network The network whose active state changed.
+     */
+    static void queue(ServerLevel level, BridgeNetwork network) {
+        if (network.syncQueued) return;
+        network.syncQueued = true;
+        BY_LEVEL.computeIfAbsent(level, l -> new BridgeSyncManager()).queued.add(network);
+    }
+
+    /**
+     * After each world tick: every N ticks, send what was queued.
+     */
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        BridgeSyncManager manager = BY_LEVEL.get(level);
+        if (manager == null || manager.queued.isEmpty()) return;
+        if (level.getGameTime() % BridgeConfig.SYNC_INTERVAL_TICKS.get() != 0) return;
+        manager.flush(level);
+    }
+
+    /**
+     * A world is unloading: drop its queue (it holds bridges, which hold the world).
+     */
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level) BY_LEVEL.remove(level);
+    }
+
+    /**
+     * Build and send one packet per chunk, then forget everything that was queued.
+     */
+    private void flush(ServerLevel level) {
+        // Positions and states of the members clients must hear about, grouped by chunk (ChunkPos.toLong()).
+        Long2ObjectOpenHashMap<ChunkBatch> byChunk = new Long2ObjectOpenHashMap<>();
+        for (BridgeNetwork network : queued) {
+            network.syncQueued = false;
+            for (EnergyBridgeBE be : network.members) { // Empty for networks merged away since.
+                if (!be.takeActiveChange(network.active)) continue; // Clients already know.
+                ChunkBatch batch = byChunk.computeIfAbsent(ChunkPos.asLong(be.getBlockPos()), k -> new ChunkBatch());
+                batch.positions.add(BridgeSyncPayload.localIndex(level, be.getBlockPos()));
+                batch.active.add(network.active);
+            }
+        }
+        queued.clear();
+
+        BridgeNetworkManager networkManager = BridgeNetworkManager.getIfPresent(level);
+        if (BridgeMetrics.enabled && networkManager != null) networkManager.metrics.syncPackets += byChunk.size();
+        for (Long2ObjectMap.Entry<ChunkBatch> entry : byChunk.long2ObjectEntrySet()) {
+            ChunkBatch batch = entry.getValue();
+            PacketDistributor.sendToPlayersTrackingChunk(level, new ChunkPos(entry.getLongKey()),
+                    new BridgeSyncPayload(entry.getLongKey(), batch.positions.toIntArray(), batch.active.toBooleanArray()));
+        }
+    }
+
+    /**
+     * The entries of one chunk's packet while it is being built.
+     */
+    private static final class ChunkBatch {
+        final IntArrayList positions = new IntArrayList();
+        final BooleanArrayList active = new BooleanArrayList();
+    }
+}
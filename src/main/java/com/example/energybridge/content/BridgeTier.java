@@ -0,0 +1,79 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.mojang.serialization.Codec;
+import net.minecraft.util.StringRepresentable;
+
+/**
+ * =====================================
+ * BridgeTier.java
+ * -------------------------------------
+ * The different Energy Bridge blocks only differ in how much they store and
+ * how fast they move energy. Each tier is registered as its own block
+ * (see ModRegistries), and its numbers can be changed in the server config.
+ *
+ * All amounts are longs: big tiers store (and move) far more than the
+ * 2.1 billion FE an int can hold. Only bridges of the same tier join into
+ * one network; different tiers next to each other trade energy like any
+ * other FE neighbor.
+ * =====================================
+ */
+public enum BridgeTier implements StringRepresentable {
+    //         name          capacity (FE)      max in (FE/t)     max out (FE/t)
+    BASIC(     "basic",            100_000L,          2_000L,           2_000L),
+    ADVANCED(  "advanced",       4_000_000L,        100_000L,         100_000L),
+    ELITE(     "elite",        200_000_000L,      5_000_000L,       5_000_000L),
+    ULTIMATE(  "ultimate", 100_000_000_000L,  4_000_000_000L,   4_000_000_000L);
+
+    // Lets the block codec save which tier a block is.
+    public static final Codec<BridgeTier> CODEC = StringRepresentable.fromEnum(BridgeTier::values);
+
+    private final String name;
+    // Built-in defaults; the values actually used come from the server config.
+    private final long defaultCapacity;
+    private final long defaultMaxIn;
+    private final long defaultMaxOut;
+
+    BridgeTier(String name, long capacity, long maxIn, long maxOut) {
+        this.name = name;
+        this.defaultCapacity = capacity;
+        this.defaultMaxIn = maxIn;
+        this.defaultMaxOut = maxOut;
+    }
+
+    /** @return the built-in capacity (the config default). */
+    public long defaultCapacity() {
+        return defaultCapacity;
+    }
+
+    /** @return the built-in pull rate (the config default). */
+    public long defaultMaxIn() {
+        return defaultMaxIn;
+    }
+
+    /** @return the built-in push rate (the config default). */
+    public long defaultMaxOut() {
+        return defaultMaxOut;
+    }
+
+    /** @return how much energy one bridge of this tier stores. */
+    public long capacity() {
+        return BridgeConfig.tier(this).capacity().get();
+    }
+
+    /** @return the most energy one bridge pulls from one side per tick. */
+    public long maxIn() {
+        return BridgeConfig.tier(this).maxIn().get();
+    }
+
+    /** @return the most energy one bridge pushes to one side per tick. */
+    public long maxOut() {
+        return BridgeConfig.tier(this).maxOut().get();
+    }
+
+    /** @return the name used in config files and the block codec. */
+    @Override
+    public String getSerializedName() {
+        return name;
+    }
+}
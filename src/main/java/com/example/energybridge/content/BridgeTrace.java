@@ -0,0 +1,141 @@
+package com.example.energybridge.content;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.trace.TraceFormat;
+import com.example.energybridge.trace.TraceRing;
+import com.mojang.logging.LogUtils;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * =====================================
+ * BridgeTrace.java
+ * -------------------------------------
+ * The opt-in transfer trace of one world (BridgeConfig.TRACE_ENABLED).
+ *
+ * While it is on, every network tick writes what it decided into a
+ * memory-mapped ring file, <world>/energybridge/trace-<dimension>.bin:
+ * one record per pull/push phase (budget, total, buffer before/after), one
+ * per endpoint that was asked (offer vs. what really moved), and one per
+ * LIT change and active-state sync. The format is in TraceFormat; the
+ * offline tool (./gradlew traceReport) replays it against TransferPlanner.
+ *
+ * The file is opened on the first record and closed with the world.
+ * One instance per world (owned by BridgeNetworkManager), server thread only.
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.MOD)
+public final class BridgeTrace {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    // Copy of BridgeConfig.TRACE_ENABLED, refreshed when the config (re)loads, so the hot path reads a plain field.
+    static boolean enabled = false;
+
+    // The world whose file this is.
+    private final ServerLevel level;
+    // Open ring file (null until the first record, or after closing).
+    @Nullable
+    private TraceRing ring;
+    // Opening failed once: don't try (and log) again every tick.
+    private boolean failed = false;
+
+    BridgeTrace(ServerLevel level) {
+        this.level = level;
+    }
+
+    @SubscribeEvent
+    public static void onConfigLoad(ModConfigEvent.Loading event) {
+        refresh(event);
+    }
+
+    @SubscribeEvent
+    public static void onConfigReload(ModConfigEvent.Reloading event) {
+        refresh(event);
+    }
+
+    private static void refresh(ModConfigEvent event) {
+        if (event.getConfig().getSpec() != BridgeConfig.SPEC) return;
+        enabled = BridgeConfig.TRACE_ENABLED.get();
+    }
+
+    /**
+     * @return the ring file to write to, opened on first use, or null if it can't be opened.
+     */
+    @Nullable
+    TraceRing ring() {
+        if (ring == null && !failed) {
+            Path file = file(level);
+            long capacity = BridgeConfig.TRACE_RING_MEGABYTES.get() * 1024L * 1024L / TraceFormat.RECORD_BYTES - 1;
+            try {
+                ring = TraceRing.open(file, capacity);
+                LOGGER.info("Energy Bridge trace for {} is recording to {}", level.dimension().location(), file);
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                LOGGER.warn("Energy Bridge trace for {} could not open {}", level.dimension().location(), file, e);
+            }
+        }
+        return ring;
+    }
+
+    /**
+     * The world is unloading: flush the file and let it go.
+     */
+    void close() {
+        if (ring == null) return;
+        try {
+            ring.close();
+        } catch (IOException e) {
+            LOGGER.warn("Energy Bridge trace for {} could not be closed", level.dimension().location(), e);
+        }
+        ring = null;
+    }
+
+    /**
+     * Turn the trace on or off (/energybridge trace on|off), also in the config file. Turning it off closes every
+     * world's file, so it is complete on disk and can be copied away for TraceReport.
+     */
+    public static void setEnabled(MinecraftServer server, boolean on) {
+        BridgeConfig.TRACE_ENABLED.set(on);
+        enabled = on;
+        for (ServerLevel level : server.getAllLevels()) {
+            BridgeNetworkManager manager = BridgeNetworkManager.getIfPresent(level);
+            if (manager == null) continue;
+            if (!on) manager.trace.close();
+            manager.trace.failed = false; // Try again, e.g. after freeing disk space.
+        }
+    }
+
+    /**
+     * @return for /energybridge trace: where this world's trace goes and how much it holds.
+     */
+    public static String describe(ServerLevel level) {
+        long written = written(level);
+        return (enabled ? "recording to " : "off, last file ") + file(level) + String.format(", %,d records written", written);
+    }
+
+    /**
+     * @return how many records this world's trace holds so far (0 if it is not open).
+     */
+    public static long written(ServerLevel level) {
+        BridgeNetworkManager manager = BridgeNetworkManager.getIfPresent(level);
+        return manager == null || manager.trace.ring == null ? 0 : manager.trace.ring.written();
+    }
+
+    /**
+     * @return where a world's trace is written: one file per dimension, e.g. trace-minecraft_overworld.bin.
+     */
+    public static Path file(ServerLevel level) {
+        String name = level.dimension().location().toString().replace(':', '_').replace('/', '_');
+        return level.getServer().getWorldPath(LevelResource.ROOT).resolve(EnergyBridgeMod.MODID).resolve("trace-" + name + ".bin");
+    }
+}
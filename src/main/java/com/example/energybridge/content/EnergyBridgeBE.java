@@ -1,22 +1,26 @@
 package com.example.energybridge.content;
 
+import com.example.energybridge.BridgeConfig;
 import com.example.energybridge.registry.ModRegistries;
+import com.example.energybridge.transfer.EnergyMath;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
 import net.neoforged.neoforge.capabilities.Capabilities;
-import net.neoforged.neoforge.energy.EnergyStorage;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.List;
+import java.util.function.BooleanSupplier;
 
 /**
  * =====================================
@@ -26,38 +30,81 @@ import java.util.Map;
  * instances in the world. Think of this like the "battery + controller"
  * for one placed Energy Bridge.
  *
+ * Bridges that touch each other form a BridgeNetwork, which owns the shared
+ * buffer and does the actual pulling/pushing once per tick for all members
+ * (a lone bridge is simply a network of one).
+ *
  * Responsibilities here:
- *  - Own an internal Forge Energy buffer (like a battery)
- *  - Every tick: pull energy from neighbors (if we can) and push energy to neighbors (if we can)
- *  - Toggle the block's "LIT" state if any energy moved this tick
+ *  - Join/leave our network when we are placed/loaded or broken/unloaded
+ *  - Cache the neighbors' energy capabilities per side so the tick does not hit the world every time
  *  - Expose per-side energy capabilities so other mods can connect
- *  - Save/load energy to NBT so it persists across world saves
+ *  - Remember each face's mode (input / output / both / disabled, see FaceMode)
+ *  - Save/load our share of the network's energy to NBT so it persists across world saves
  * =====================================
  */
 public class EnergyBridgeBE extends BlockEntity {
     // ======= Tunable settings =======
-    // Total energy the block can store internally.
-    private static final int CAPACITY = 100000;
-        // TODO: Change this number if you want a different max buffer size (in FE).
-        // Testing Tip: Place the block, use any FE generator next to it, and see how much it stores.
-    // Maximum FE we can pull from neighbors each tick.
-    private static final int MAX_IN = 2000;
-        // TODO: Change this to set how fast energy can be pulled in from neighbors per tick.
-    // Maximum FE we can push to neighbors each tick.
-    private static final int MAX_OUT = 2000;
-        // TODO: Change this to set how fast energy can be sent out per tick.
-
-    // The actual internal battery. EnergyStorage is a helper provided by NeoForge.
-    private final EnergyStorage buffer = new EnergyStorage(CAPACITY, MAX_IN, MAX_OUT);
-
-    // We expose a handler per side (NORTH, SOUTH, EAST, WEST, UP, DOWN).
-    // For simplicity, each side connects to the same internal buffer and respects IO limits.
-    private final Map<Direction, IEnergyStorage> sideHandlers = new EnumMap<>(Direction.class);
-
-    // Used to note that a neighbor changed recently (not strictly required with our no-cache approach).
-    private boolean neighborsDirty = false;
-    // Used for client sync; we keep it even though Jade is disabled so it's easy to re-enable later.
-    private int lastSyncedEnergy = -1;
+    // Capacity and IO rates come from our tier (BridgeTier), which reads them from the server config.
+    // Testing Tip: Place the block, use any FE generator next to it, and see how much it stores.
+    final BridgeTier tier;
+
+    // Direction.values() clones its array on every call; keep one copy for the hot loops.
+    static final Direction[] DIRECTIONS = Direction.values();
+    // Bit mask with one bit per side (1 << Direction.ordinal()).
+    private static final int ALL_SIDES = (1 << DIRECTIONS.length) - 1;
+    // Index of the side-less handler, after the six faces.
+    private static final int INTERNAL = DIRECTIONS.length;
+
+    // We expose a handler per side (NORTH, SOUTH, EAST, WEST, UP, DOWN), indexed by Direction.ordinal(),
+    // plus one for side-less queries (null side, index 6: no face, so no face mode applies).
+    // Each connects to the same network buffer and respects IO limits and that face's mode.
+    // Created on first request: most bridges in a dense build are only ever asked on a few sides.
+    @Nullable
+    private SideHandler[] handlers;
+
+    // ======= Face modes =======
+    // One FaceMode per side, 2 bits each at (Direction.ordinal() * 2). 0 = BOTH on every side.
+    private int faceModes = 0;
+    // Sides that are not DISABLED (bit per side). Disabled sides are never looked up or linked.
+    private int enabledSides = ALL_SIDES;
+
+    // One capability cache per side, indexed by Direction.ordinal(). NeoForge keeps each cache up to date
+    // and calls our listener when that neighbor is placed, removed, or changes its capability.
+    // Only exists on the server, between onLoad() and setRemoved()/onChunkUnloaded().
+    @Nullable
+    private BlockCapabilityCache<IEnergyStorage, Direction>[] neighborCaches;
+    // Sides whose neighbor changed since the last tick and must be looked at again (bit per side).
+    private int dirtySides = ALL_SIDES;
+    // Sides where the last look-up found an energy handler (bit per side). Other sides are skipped in the tick.
+    private int energySides = 0;
+    // Sides whose neighbor block changed since the last world tick (bit per side), see onNeighborChanged.
+    // Non-zero means we are already in BridgeNetworkManager's queue.
+    private int pendingNeighborSides = 0;
+
+    // ======= Network membership (server only) =======
+    // Energy loaded from NBT, waiting to be added to a network (or our share after we left one).
+    long storedEnergy = 0;
+    // Whether we are currently a member of a network.
+    boolean joined = false;
+    // Union-find: the bridge we point at (ourselves if we are the root) and, on the root only, the network.
+    EnergyBridgeBE ufParent = this;
+    @Nullable
+    BridgeNetwork ufNetwork;
+    // Our slot in network.members (-1 when not a member).
+    int memberIndex = -1;
+
+    // ======= Offline catch-up (see BridgeConfig.OFFLINE_CATCH_UP) =======
+    // Average FE/t our faces pulled from / pushed to neighbors in our network's last flow window. Saved with us.
+    int rateIn = 0;
+    int rateOut = 0;
+    // Game time we were saved at, read from disk. The network catches up once we are back, then resets it.
+    long savedAt = NOT_SAVED;
+    static final long NOT_SAVED = Long.MIN_VALUE;
+
+    // ======= Client sync state =======
+    // Energy is not synced: clients only see it while looking at the bridge (BridgeInspection).
+    // Server: the active state clients currently know about. Client: whether to draw the glow (EnergyBridgeRenderer).
+    private boolean syncedActive = false;
 
     /**
      * Constructor: called whenever this block entity is created (block placed, chunk loaded, etc.)
@@ -67,42 +114,93 @@ public class EnergyBridgeBE extends BlockEntity {
     public EnergyBridgeBE(BlockPos pos, BlockState state) {
         // Super constructor tells Minecraft which "type" of BE this is.
         super(ModRegistries.ENERGY_BRIDGE_BE.get(), pos, state);
+        this.tier = state.getBlock() instanceof EnergyBridgeBlock block ? block.getTier() : BridgeTier.BASIC;
+        // Nothing else is allocated here: side handlers and neighbor caches come later, when needed.
+    }
+
+    /**
+     * The IEnergyStorage other mods see on each of our faces. It reads and writes the shared network buffer.
+     * The FE API only speaks int, so amounts are clamped; big tiers are moved in several calls by the network.
+     * BridgeNetwork also uses this class to recognise neighbor bridges of its own network.
+     */
+    final class SideHandler implements IEnergyStorage {
+        // The face this handler is for (null = internal access, always BOTH).
+        @Nullable
+        private final Direction side;
 
-        // Build a small IEnergyStorage wrapper for each side that talks to our internal buffer.
-        for (Direction d : Direction.values()) {
-            sideHandlers.put(d, new IEnergyStorage() {
-                /**
-                 * Try to insert energy (neighbor -> us).
-                 * @param maxReceive how much the neighbor wants to send
-                 * @param simulate if true, don't actually change energy; just report what would happen
-                 */
-                @Override public int receiveEnergy(int maxReceive, boolean simulate) {
-                    // Respect our MAX_IN as a hard limit per call.
-                    return buffer.receiveEnergy(Math.min(maxReceive, MAX_IN), simulate);
-                }
-                /**
-                 * Try to extract energy (us -> neighbor).
-                 * @param maxExtract how much the neighbor wants from us
-                 * @param simulate if true, don't actually change energy; just report what would happen
-                 */
-                @Override public int extractEnergy(int maxExtract, boolean simulate) {
-                    // Respect our MAX_OUT as a hard limit per call.
-                    return buffer.extractEnergy(Math.min(maxExtract, MAX_OUT), simulate);
-                }
-                /** @return current energy stored in our internal buffer. */
-                @Override public int getEnergyStored() { return buffer.getEnergyStored(); }
-                /** @return maximum capacity of our internal buffer. */
-                @Override public int getMaxEnergyStored() { return buffer.getMaxEnergyStored(); }
-                /** We allow extraction by neighbors. */
-                @Override public boolean canExtract() { return true; }
-                /** We allow reception from neighbors. */
-                @Override public boolean canReceive() { return true; }
-            });
+        SideHandler(@Nullable Direction side) {
+            this.side = side;
         }
+
+        /** @return the bridge this handler belongs to. */
+        EnergyBridgeBE owner() { return EnergyBridgeBE.this; }
+
+        /** @return the current mode of our face (read live, so mode changes apply at once). */
+        private FaceMode mode() { return side == null ? FaceMode.BOTH : getFaceMode(side); }
+
+        /**
+         * Try to insert energy (neighbor -> us).
+         * @param maxReceive how much the neighbor wants to send
+         * @param simulate if true, don't actually change energy; just report what would happen
+         */
+        @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+            if (!joined || !mode().input()) return 0;
+            BridgeNetwork net = network();
+            if (BridgeConfig.PASS_THROUGH.get()) {
+                // Straight on to the network's outputs; only what they refuse stays in the (small) buffer.
+                return (int) net.receivePassThrough(owner(), side, Math.max(0, Math.min(maxReceive, tier.maxIn())), simulate);
+            }
+            // Respect our tier's max-in as a hard limit per call, and the free space in the network.
+            int received = (int) Math.max(0, Math.min(Math.min(maxReceive, tier.maxIn()), net.capacity() - net.energy));
+            if (received > 0 && !simulate) {
+                net.energy += received;
+                net.wake();            // Energy arrived: we have work to do.
+                net.onEnergyChanged(); // Save + client sync bookkeeping.
+            }
+            return received;
+        }
+        /**
+         * Try to extract energy (us -> neighbor).
+         * @param maxExtract how much the neighbor wants from us
+         * @param simulate if true, don't actually change energy; just report what would happen
+         */
+        @Override public int extractEnergy(int maxExtract, boolean simulate) {
+            if (!joined || !mode().output()) return 0;
+            BridgeNetwork net = network();
+            // Respect our tier's max-out as a hard limit per call.
+            int extracted = (int) Math.max(0, Math.min(Math.min(maxExtract, tier.maxOut()), net.energy));
+            if (extracted > 0 && !simulate) {
+                net.energy -= extracted;
+                net.wake();            // Room freed up: we can pull again.
+                net.onEnergyChanged();
+            }
+            return extracted;
+        }
+        /** @return our share of the energy stored in the network (capped at the int limit). */
+        @Override public int getEnergyStored() { return EnergyMath.clampToInt(EnergyBridgeBE.this.getEnergyStored()); }
+        /** @return maximum capacity of one bridge (capped at the int limit). */
+        @Override public int getMaxEnergyStored() { return EnergyMath.clampToInt(tier.capacity()); }
+        /** Neighbors may extract unless this face is INPUT-only (or disabled). */
+        @Override public boolean canExtract() { return mode().output(); }
+        /** Neighbors may insert unless this face is OUTPUT-only (or disabled). */
+        @Override public boolean canReceive() { return mode().input(); }
+    }
+
+    /**
+     * @return the handler for one face (index = Direction.ordinal()) or INTERNAL, created on first use.
+     * Always the same object for the same face, so caches and identity checks stay valid.
+     */
+    private SideHandler handler(int index) {
+        SideHandler[] array = handlers;
+        if (array == null) handlers = array = new SideHandler[DIRECTIONS.length + 1];
+        SideHandler handler = array[index];
+        if (handler == null) array[index] = handler = new SideHandler(index == INTERNAL ? null : DIRECTIONS[index]);
+        return handler;
     }
 
     /**
-     * The main logic tick for the block entity. Runs ONLY on the server.
+     * The logic tick for the block entity. Runs ONLY on the server.
+     * Every member of a network calls this, but the network only does its work once per game tick.
      * @param level The world the block is in.
      * @param pos   The block's position.
      * @param state The block's current blockstate (FACING/LIT).
@@ -110,137 +208,392 @@ public class EnergyBridgeBE extends BlockEntity {
      */
     public static void serverTick(Level level, BlockPos pos, BlockState state, EnergyBridgeBE be) {
         // Client worlds are for rendering only; never run game logic there.
-        if (level == null || level.isClientSide) return;
-
-        boolean pulled = false; // Did we pull energy from any side this tick?
-        boolean pushed = false; // Did we push energy to any side this tick?
-
-        // ======= PULL phase: try to fill our buffer by asking all neighbors for energy =======
-        for (Direction dir : Direction.values()) {
-            // If we're already full, stop pulling.
-            if (be.buffer.getEnergyStored() >= be.buffer.getMaxEnergyStored()) break;
-
-            // Look up the neighbor's energy capability on the opposite face (facing us).
-            IEnergyStorage neighbor = getNeighborEnergy(level, pos.relative(dir), dir.getOpposite());
-            if (neighbor != null && neighbor.canExtract()) {
-                // We can only receive up to MAX_IN, and not exceed our capacity.
-                int toPull = Math.min(MAX_IN, be.buffer.getMaxEnergyStored() - be.buffer.getEnergyStored());
-                int extracted = neighbor.extractEnergy(toPull, false); // false = actually extract (not simulate)
-                if (extracted > 0) {
-                    be.buffer.receiveEnergy(extracted, false); // Store it in our buffer.
-                    pulled = true;
-                }
-            }
+        if (level == null || level.isClientSide || !be.joined) return;
+
+        // Members were removed since the last tick: check once whether the network was cut in two.
+        BridgeNetwork network = be.network();
+        if (network.needsRebuild) {
+            network.rebuild();
+            network = be.network();
+        }
+        network.tick((ServerLevel) level);
+    }
+
+    // ======= Network membership =======
+
+    /**
+     * Union-find "find" with path halving: follow parents to the root, shortening the path as we go.
+     * @return the root bridge of our network.
+     */
+    EnergyBridgeBE find() {
+        EnergyBridgeBE be = this;
+        while (be.ufParent != be) {
+            be.ufParent = be.ufParent.ufParent;
+            be = be.ufParent;
         }
+        return be;
+    }
 
-        // ======= PUSH phase: try to empty our buffer by sending energy to neighbors =======
-        for (Direction dir : Direction.values()) {
-            // If we're empty, stop pushing.
-            if (be.buffer.getEnergyStored() <= 0) break;
-
-            IEnergyStorage neighbor = getNeighborEnergy(level, pos.relative(dir), dir.getOpposite());
-            if (neighbor != null && neighbor.canReceive()) {
-                // Send at most MAX_OUT, or however much we have stored.
-                int toSend = Math.min(MAX_OUT, be.buffer.getEnergyStored());
-                int sent = neighbor.receiveEnergy(toSend, false);
-                if (sent > 0) {
-                    be.buffer.extractEnergy(sent, false); // Remove from our buffer.
-                    pushed = true;
-                }
+    /**
+     * @return the network we belong to. Only valid while joined.
+     */
+    BridgeNetwork network() {
+        return find().ufNetwork;
+    }
+
+    /**
+     * @return how much energy this bridge holds: its share of the network. Server only (0 on clients).
+     */
+    public long getEnergyStored() {
+        return joined ? network().shareOf(this) : storedEnergy;
+    }
+
+    /**
+     * @return this bridge's tier (capacity and IO rates).
+     */
+    public BridgeTier getTier() {
+        return tier;
+    }
+
+    // ======= Face modes =======
+
+    /**
+     * @return what this face currently does.
+     */
+    public FaceMode getFaceMode(Direction dir) {
+        return FaceMode.byId(faceModes >>> (dir.ordinal() * 2));
+    }
+
+    /**
+     * Change what one face does. On the server this also fixes up everything that depends on it:
+     * the network link to a bridge on that side, our endpoint list, and neighbors' capability caches.
+     * @param dir  The face to change.
+     * @param mode Its new mode.
+     */
+    public void setFaceMode(Direction dir, FaceMode mode) {
+        FaceMode old = getFaceMode(dir);
+        if (old == mode) return;
+        int shift = dir.ordinal() * 2;
+        faceModes = (faceModes & ~(3 << shift)) | (mode.ordinal() << shift);
+        updateEnabledSides();
+        setChanged();
+
+        if (level instanceof ServerLevel serverLevel) {
+            markSidesDirty(1 << dir.ordinal());
+            // Disabling a face cuts the link to a bridge behind it; enabling one may create a link.
+            if (joined && (old == FaceMode.DISABLED || mode == FaceMode.DISABLED)) {
+                BridgeNetworkManager.get(serverLevel).relink(this);
             }
+            // Cables and other blocks next to us must ask for our capability again.
+            serverLevel.invalidateCapabilities(worldPosition);
+            serverLevel.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), Block.UPDATE_CLIENTS);
         }
+    }
 
-        // ======= Visual feedback: turn the ring light on ONLY if there was IO this tick =======
-        boolean shouldBeLit = pulled || pushed;
-        if (state.hasProperty(EnergyBridgeBlock.LIT) && state.getValue(EnergyBridgeBlock.LIT) != shouldBeLit) {
-            level.setBlockAndUpdate(pos, state.setValue(EnergyBridgeBlock.LIT, shouldBeLit));
+    /**
+     * Recompute enabledSides from faceModes.
+     */
+    private void updateEnabledSides() {
+        int enabled = 0;
+        for (Direction dir : DIRECTIONS) {
+            if (getFaceMode(dir) != FaceMode.DISABLED) enabled |= 1 << dir.ordinal();
         }
+        enabledSides = enabled;
+        energySides &= enabled;
+    }
+
+    /**
+     * Whether we share a network with a bridge touching our face dir: same tier, and neither touching face disabled.
+     */
+    boolean linksTo(Direction dir, EnergyBridgeBE other) {
+        return other.tier == tier
+                && getFaceMode(dir) != FaceMode.DISABLED
+                && other.getFaceMode(dir.getOpposite()) != FaceMode.DISABLED;
+    }
 
-        // ======= Client sync (optional): update clients when energy changes =======
-        // Keeping this code means it's easy to re-enable overlays later.
-        int now = be.buffer.getEnergyStored();
-        if (now != be.lastSyncedEnergy) {
-            be.lastSyncedEnergy = now;
-            be.setChanged(); // Mark data as changed for saving
-            level.sendBlockUpdated(pos, state, state, 3); // Ask clients to refresh the block
+    // ======= Client sync =======
+
+    /**
+     * Server: whether clients must hear about our network's active state. When they must, we assume they will
+     * and remember it.
+     * @param active The network's active state now.
+     * @return true if it differs from what clients know.
+     */
+    boolean takeActiveChange(boolean active) {
+        if (active == syncedActive) return false;
+        syncedActive = active;
+        return true;
+    }
+
+    /**
+     * Client: apply one bridge's entry of a BridgeSyncPayload.
+     * @param active Whether the bridge's network is moving energy (draw the glow).
+     */
+    public void applySync(boolean active) {
+        syncedActive = active;
+    }
+
+    /**
+     * @return on clients, whether to draw the active glow (the network moved energy recently).
+     */
+    public boolean isActive() {
+        return syncedActive;
+    }
+
+    // ======= Sleep / wake =======
+
+    /**
+     * Make our network resume ticking. Safe to call any time (does nothing if already awake).
+     * Called when a neighbor changes or a neighbor capability is invalidated.
+     */
+    public void wake() {
+        if (joined) network().wake();
+    }
+
+    /**
+     * @return true if this bridge's network is currently asleep (skipping its tick).
+     */
+    public boolean isAsleep() {
+        return joined && network().asleep;
+    }
+
+    /**
+     * @return for /energybridge backoff: one line per endpoint face, saying how often it is asked (server only).
+     */
+    public List<String> describeBackoff() {
+        return joined ? network().describeBackoff(this) : List.of();
+    }
+
+    // ======= Neighbor capability cache =======
+
+    /**
+     * Build one BlockCapabilityCache per side. NeoForge resolves the capability lazily and remembers it
+     * until the neighbor changes, so the tick no longer asks the world every time.
+     * All six caches share one validity check and one listener (instead of two lambdas each). The listener
+     * marks every side dirty; re-reading the five unchanged caches is just a field read each.
+     * @param level The server world (caches only exist on the server).
+     */
+    @SuppressWarnings("unchecked")
+    private void createNeighborCaches(ServerLevel level) {
+        BlockCapabilityCache<IEnergyStorage, Direction>[] caches = new BlockCapabilityCache[DIRECTIONS.length];
+        BooleanSupplier valid = () -> this.neighborCaches == caches; // Stay subscribed only while these caches are ours
+        Runnable changed = () -> markSidesDirty(ALL_SIDES);          // A neighbor was placed/removed/changed capability
+        for (Direction dir : DIRECTIONS) {
+            caches[dir.ordinal()] = BlockCapabilityCache.create(
+                    Capabilities.EnergyStorage.BLOCK,   // FE on blocks
+                    level,
+                    worldPosition.relative(dir),        // The neighbor on this side
+                    dir.getOpposite(),                  // The neighbor's face that touches us
+                    valid,
+                    changed
+            );
         }
+        this.neighborCaches = caches;
+        this.dirtySides = ALL_SIDES; // Fresh caches: look at every side once.
+    }
 
-        // Neighbor info flag not used for logic (left for future expansion).
-        if (be.neighborsDirty) be.neighborsDirty = false;
+    /**
+     * Drop the caches. NeoForge stops calling our listeners once the "is valid" check above fails.
+     */
+    private void clearNeighborCaches() {
+        this.neighborCaches = null;
+        this.energySides = 0;
+        this.dirtySides = ALL_SIDES;
     }
 
     /**
-     * Helper to ask a neighbor for its energy handler on a specific face.
-     * @param level The world
-     * @param pos   The neighbor's position
-     * @param face  Which side of the neighbor we are interacting with
-     * @return IEnergyStorage for that neighbor face, or null if none
+     * Create the caches if needed, then re-resolve only the sides that were marked dirty.
+     * Disabled faces are never looked up; they stay dirty until they are enabled again.
+     * @param level The server world.
+     * @return the enabled sides (bit per side) that have an energy handler.
+     */
+    int refreshNeighbors(ServerLevel level) {
+        if (neighborCaches == null) createNeighborCaches(level);
+        if ((dirtySides & enabledSides) == 0) return energySides;
+        for (Direction dir : DIRECTIONS) {
+            int bit = 1 << dir.ordinal();
+            if ((dirtySides & enabledSides & bit) == 0) continue;
+            if (neighborCaches[dir.ordinal()].getCapability() != null) energySides |= bit;
+            else energySides &= ~bit;
+        }
+        dirtySides &= ~enabledSides;
+        return energySides;
+    }
+
+    /**
+     * @return the cached energy handler of the neighbor on this side, or null if there is none.
      */
     @Nullable
-    private static IEnergyStorage getNeighborEnergy(Level level, BlockPos pos, Direction face) {
-        // In NeoForge 1.21.1 the correct capability is EnergyStorage.BLOCK.
-        return level.getCapability(Capabilities.EnergyStorage.BLOCK, pos, face);
+    IEnergyStorage neighborEnergy(Direction dir) {
+        return neighborCaches == null ? null : neighborCaches[dir.ordinal()].getCapability();
+    }
+
+    /**
+     * Mark sides to be looked at again, and tell our network its endpoint list is out of date.
+     * @param sides The sides whose neighbor changed (bit per side).
+     */
+    private void markSidesDirty(int sides) {
+        this.dirtySides |= sides;
+        if (joined) {
+            BridgeNetwork network = network();
+            network.endpointsDirty = true;
+            network.wake(); // Something new next to us may have (or want) energy.
+        }
+    }
+
+    /**
+     * Called when the block entity is added to the world (placed or chunk loaded).
+     * We set up the neighbor caches and join (or form) a network right away on the server.
+     */
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            createNeighborCaches(serverLevel);
+            if (!joined) BridgeNetworkManager.get(serverLevel).join(this);
+            // Back from disk with a flow: catch up at the start of the next tick, when our neighbors are loaded too.
+            if (savedAt != NOT_SAVED) BridgeNetworkManager.get(serverLevel).queueCatchUp(this);
+        }
+    }
+
+    /**
+     * Called when the block is broken/replaced. The caches must not outlive us, and we leave our network.
+     */
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        leaveWorld();
+    }
+
+    /**
+     * Called when our chunk unloads. Same clean-up as setRemoved().
+     */
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        leaveWorld();
+    }
+
+    private void leaveWorld() {
+        clearNeighborCaches();
+        if (joined && level instanceof ServerLevel serverLevel) BridgeNetworkManager.get(serverLevel).leave(this);
     }
 
     /**
      * Called by the block when something next to us changed (e.g., a block was broken).
-     * We mark as dirty and trigger a client update so visuals can reflect changes promptly.
+     * We only remember which side it was; BridgeNetworkManager hands all of a tick's changes back to us once,
+     * at the start of the next world tick (handleNeighborChanges). No client update: nothing visible changed.
      */
     public void onNeighborChanged(BlockPos fromPos) {
-        this.neighborsDirty = true;
-        this.setChanged();
-        if (level != null && !level.isClientSide) {
-            level.sendBlockUpdated(worldPosition, getBlockState(), getBlockState(), 3);
+        if (!(level instanceof ServerLevel serverLevel) || !joined) return; // Not loaded yet: onLoad looks at every side.
+        Direction dir = Direction.fromDelta(
+                fromPos.getX() - worldPosition.getX(),
+                fromPos.getY() - worldPosition.getY(),
+                fromPos.getZ() - worldPosition.getZ());
+        // Not a direct neighbor (rare): just look at every side again.
+        int sides = dir != null ? 1 << dir.ordinal() : ALL_SIDES;
+        if (pendingNeighborSides == 0) BridgeNetworkManager.get(serverLevel).queueNeighborChange(this);
+        pendingNeighborSides |= sides;
+    }
+
+    /**
+     * Handle the neighbor changes queued since the last tick: one capability look-up per changed, enabled side.
+     * The endpoint list is only rebuilt if a side gained or lost an energy handler, and the network is only woken
+     * (and those sides' backoff reset) if a changed side has (or had) one; a torch placed next to us costs nothing.
+     */
+    void handleNeighborChanges() {
+        int sides = pendingNeighborSides & enabledSides;
+        pendingNeighborSides = 0;
+        if (sides == 0 || !joined || neighborCaches == null) return;
+
+        boolean endpointsChanged = false;
+        boolean energyNeighbor = false;
+        for (Direction dir : DIRECTIONS) {
+            int bit = 1 << dir.ordinal();
+            if ((sides & bit) == 0) continue;
+            boolean had = (energySides & bit) != 0;
+            boolean has = neighborCaches[dir.ordinal()].getCapability() != null;
+            if (has) energySides |= bit;
+            else energySides &= ~bit;
+            dirtySides &= ~bit; // Just resolved.
+            endpointsChanged |= has != had;
+            energyNeighbor |= has || had;
+        }
+        if (endpointsChanged) network().endpointsDirty = true;
+        if (energyNeighbor) {
+            network().wake();                     // That neighbor may have (or want) energy now,
+            network().resetBackoff(this, sides);  // so ask it again right away even if it kept refusing.
         }
     }
 
     /**
      * Provide our per-side energy handler to other mods/cables.
-     * Returning null on the CLIENT side is a simple way to "hide" from overlays like Jade.
-     * Servers (the source of truth) still expose capabilities normally.
+     * Returning null on the CLIENT side "hides" us from overlays like Jade: clients don't know our energy.
+     * (Players looking at a bridge get live numbers through BridgeInspection instead.)
+     * Servers (the source of truth) still expose capabilities normally, except on DISABLED faces.
      * @param side Which side is being queried (may be null in some contexts)
      * @return an IEnergyStorage or null
      */
     @Nullable
-    public IEnergyStorage getEnergy(Direction side) {
+    public IEnergyStorage getEnergy(@Nullable Direction side) {
         if (this.level != null && this.level.isClientSide) return null; // Hide on client
-        return sideHandlers.get(side == null ? Direction.NORTH : side);
+        if (side == null) return handler(INTERNAL);
+        if (getFaceMode(side) == FaceMode.DISABLED) return null; // Nothing to connect to on this face
+        return handler(side.ordinal());
     }
 
     // ======= Saving and Loading data (so energy persists) =======
 
     /**
      * Save extra data to the chunk. Called when the chunk or world saves.
+     * We save our share of the network's energy; loading every member rebuilds the whole network.
+     * The network decides when our chunk needs saving (BridgeNetwork.onEnergyChanged), not every tick.
      * @param tag NBT tag to write into
      * @param registries Registry access (unused here)
      */
     @Override
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.saveAdditional(tag, registries);
-        tag.putInt("Energy", buffer.getEnergyStored());
+        tag.putLong("Energy", getEnergyStored());
+        tag.putInt("Faces", faceModes);
+        // Only bridges that were moving energy need the rest: the time, for the catch-up when we load again.
+        if ((rateIn | rateOut) != 0 && level != null && BridgeConfig.OFFLINE_CATCH_UP.get()) {
+            tag.putInt("RateIn", rateIn);
+            tag.putInt("RateOut", rateOut);
+            tag.putLong("SavedAt", level.getGameTime());
+        }
     }
 
     /**
      * Load extra data from the chunk. Called when the chunk is loaded.
+     * The energy waits in storedEnergy until onLoad() adds it to a network. It replaces whatever we held before.
+     * A saved flow (RateIn/RateOut/SavedAt) waits in savedAt for the catch-up (BridgeNetwork.catchUp).
      * @param tag NBT tag to read from
      * @param registries Registry access (unused here)
      */
     @Override
     public void loadAdditional(CompoundTag tag, HolderLookup.Provider registries) {
         super.loadAdditional(tag, registries);
-        int e = tag.getInt("Energy");
-        if (e > 0) buffer.receiveEnergy(e, false);
+        long e = tag.getLong("Energy"); // Also reads the int tag older versions saved.
+        storedEnergy = Math.max(0, Math.min(e, tier.capacity()));
+        faceModes = tag.getInt("Faces"); // Missing in older saves: 0 = BOTH everywhere.
+        updateEnabledSides();
+        rateIn = tag.getInt("RateIn");
+        rateOut = tag.getInt("RateOut");
+        savedAt = tag.contains("SavedAt") ? tag.getLong("SavedAt") : NOT_SAVED;
     }
 
     // ======= Networking helpers (safe to remove if you don't need client sync) =======
 
     /**
-     * Create a tag that represents the current state, sent to the client when needed.
+     * Create a tag that represents the current state, sent to the client with the chunk.
+     * No energy: clients ask for it while a player looks at the bridge (BridgeInspection).
      */
     @Override
     public CompoundTag getUpdateTag(HolderLookup.Provider registries) {
         CompoundTag tag = new CompoundTag();
-        saveAdditional(tag, registries);
+        tag.putInt("Faces", faceModes);
+        tag.putBoolean("Active", syncedActive);
         return tag;
     }
 
@@ -249,12 +602,15 @@ public class EnergyBridgeBE extends BlockEntity {
      */
     @Override
     public void handleUpdateTag(CompoundTag tag, HolderLookup.Provider lookup) {
-        loadAdditional(tag, lookup);
+        faceModes = tag.getInt("Faces");
+        syncedActive = tag.getBoolean("Active");
+        updateEnabledSides();
     }
 
     /**
      * Ask NeoForge to create a packet to sync this BE to the client.
      * Returning non-null means "yes, please send an update packet."
+     * Only used when the block itself changes (face modes); the glow goes through BridgeSyncManager.
      */
     @Nullable
     @Override
@@ -272,4 +628,4 @@ public class EnergyBridgeBE extends BlockEntity {
             handleUpdateTag(pkt.getTag(), lookup);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,16 @@
 package com.example.energybridge.content;
 
+import com.example.energybridge.BridgeConfig;
 import com.example.energybridge.registry.ModRegistries;
 import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.ItemInteractionResult;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.Level;
@@ -20,6 +27,8 @@ import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.level.block.state.properties.DirectionProperty;
 import net.minecraft.world.level.storage.loot.LootParams;
+import net.minecraft.world.phys.BlockHitResult;
+import net.neoforged.neoforge.common.Tags;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -35,22 +44,36 @@ import java.util.List;
  *  - Blocks are the physical thing you see and interact with.
  *  - BlockEntities add per-block data/logic (like a battery).
  *  - We also store some "state" on the block itself, like which way it's facing.
+ *  - Each tier (BridgeTier) is a separate block instance of this class.
+ *  - Using a wrench (or sneak-using with an empty hand) on a face cycles that face's FaceMode.
  * =====================================
  */
 public class EnergyBridgeBlock extends BaseEntityBlock {
+    // Serializes the block definition: its tier plus the usual block properties.
+    public static final MapCodec<EnergyBridgeBlock> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+            BridgeTier.CODEC.fieldOf("tier").forGetter(EnergyBridgeBlock::getTier),
+            propertiesCodec()
+    ).apply(instance, EnergyBridgeBlock::new));
+
     // "FACING" is which horizontal direction the block is pointing (N, S, E, W).
     public static final DirectionProperty FACING = BlockStateProperties.HORIZONTAL_FACING;
-    // "LIT" is a simple on/off visual we toggle when energy flows this tick.
+    // "LIT" is the old on/off visual. Only switched with BridgeConfig.LIT_BLOCK_STATE; clients normally draw
+    // the glow themselves (EnergyBridgeRenderer), so moving energy never changes the block state.
     public static final BooleanProperty LIT = BlockStateProperties.LIT;
 
+    // How much this bridge stores and how fast it moves energy.
+    private final BridgeTier tier;
+
     /**
      * Constructor: sets up basic physical properties.
+     * @param tier  Which tier this block is (capacity and rates).
      * @param props The base properties we pass to the Block superclass.
      */
-    public EnergyBridgeBlock(Properties props) {
+    public EnergyBridgeBlock(BridgeTier tier, Properties props) {
         // strength(hardness, blastResistance), metal sound.
         // We intentionally *don't* require a specific tool tier so it drops reliably.
         super(props.strength(2.0F, 6.0F).sound(SoundType.METAL));
+        this.tier = tier;
 
         // This line sets the default state the block starts with (facing north, not lit).
         this.registerDefaultState(
@@ -60,6 +83,13 @@ public class EnergyBridgeBlock extends BaseEntityBlock {
         );
     }
 
+    /**
+     * @return this block's tier.
+     */
+    public BridgeTier getTier() {
+        return tier;
+    }
+
     /**
      * Tell Minecraft which block state properties exist for this block.
      * Without this, you can't set/get FACING or LIT.
@@ -98,17 +128,20 @@ public class EnergyBridgeBlock extends BaseEntityBlock {
     /**
      * Hook up the server tick function of our block entity.
      * This runs once per tick (20 times/sec) on the server and performs energy IO.
+     * In scheduler mode there is no ticker at all: BridgeScheduler ticks the networks instead.
      */
     @Nullable
     @Override
     public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
         // No ticking on the client (visuals only there). Server runs the logic.
-        return level.isClientSide ? null : createTickerHelper(type, ModRegistries.ENERGY_BRIDGE_BE.get(), EnergyBridgeBE::serverTick);
+        if (level.isClientSide || BridgeConfig.SCHEDULER_MODE.get()) return null;
+        return createTickerHelper(type, ModRegistries.ENERGY_BRIDGE_BE.get(), EnergyBridgeBE::serverTick);
     }
 
     /**
      * Called by Minecraft when a neighboring block changes (placed/broken/moved).
-     * We forward this to our BE so it can immediately stop feeding energy into a removed neighbor.
+     * We forward this to our BE, which looks at that side once at the start of the next tick.
+     * We don't pass the update on to our own neighbors: nothing about us changed, and we have no redstone output.
      */
     @Override
     public void neighborChanged(BlockState state, Level level, BlockPos pos, Block neighborBlock, BlockPos fromPos, boolean isMoving) {
@@ -117,8 +150,40 @@ public class EnergyBridgeBlock extends BaseEntityBlock {
         if (be instanceof EnergyBridgeBE ebb) {
             ebb.onNeighborChanged(fromPos);
         }
-        // Also tell the world around us something changed (helps redstone/other systems).
-        level.updateNeighborsAt(pos, this);
+    }
+
+    /**
+     * Right-click with an item. A wrench (any item tagged c:tools/wrench) cycles the clicked face's mode;
+     * every other item falls through to useWithoutItem / normal item use.
+     */
+    @Override
+    protected ItemInteractionResult useItemOn(ItemStack stack, BlockState state, Level level, BlockPos pos,
+                                              Player player, InteractionHand hand, BlockHitResult hit) {
+        if (!stack.is(Tags.Items.TOOLS_WRENCH)) return ItemInteractionResult.PASS_TO_DEFAULT_BLOCK_INTERACTION;
+        cycleFaceMode(level, pos, player, hit.getDirection());
+        return ItemInteractionResult.sidedSuccess(level.isClientSide);
+    }
+
+    /**
+     * Right-click with an empty hand. Sneaking cycles the clicked face's mode; a plain click does nothing.
+     */
+    @Override
+    protected InteractionResult useWithoutItem(BlockState state, Level level, BlockPos pos, Player player, BlockHitResult hit) {
+        if (!player.isSecondaryUseActive()) return InteractionResult.PASS;
+        cycleFaceMode(level, pos, player, hit.getDirection());
+        return InteractionResult.sidedSuccess(level.isClientSide);
+    }
+
+    /**
+     * Move one face to its next mode (server only) and tell the player what it is now.
+     */
+    private static void cycleFaceMode(Level level, BlockPos pos, Player player, Direction face) {
+        if (level.isClientSide || !(level.getBlockEntity(pos) instanceof EnergyBridgeBE be)) return;
+        FaceMode mode = be.getFaceMode(face).next();
+        be.setFaceMode(face, mode);
+        player.displayClientMessage(Component.translatable("message.energybridge.face_mode",
+                Component.translatable("direction.energybridge." + face.getSerializedName()),
+                Component.translatable("face_mode.energybridge." + mode.getSerializedName())), true);
     }
 
     /**
@@ -129,7 +194,7 @@ public class EnergyBridgeBlock extends BaseEntityBlock {
     @Override
     public List<ItemStack> getDrops(BlockState state, LootParams.Builder builder) {
         // Testing Tip: Break this block in survival mode. It should always drop itself now.
-        return java.util.Collections.singletonList(new ItemStack(ModRegistries.ENERGY_BRIDGE_ITEM.get()));
+        return java.util.Collections.singletonList(new ItemStack(this));
     }
 
     /**
@@ -137,6 +202,6 @@ public class EnergyBridgeBlock extends BaseEntityBlock {
      */
     @Override
     protected MapCodec<? extends BaseEntityBlock> codec() {
-        return simpleCodec(EnergyBridgeBlock::new);
+        return CODEC;
     }
 }
\ No newline at end of file
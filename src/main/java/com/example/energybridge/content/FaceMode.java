@@ -0,0 +1,52 @@
+package com.example.energybridge.content;
+
+import net.minecraft.util.StringRepresentable;
+
+/**
+ * =====================================
+ * FaceMode.java
+ * -------------------------------------
+ * What one face of an Energy Bridge does:
+ *  - BOTH:     pull from and push to the neighbor on this side (the default)
+ *  - INPUT:    only take energy in through this side
+ *  - OUTPUT:   only send energy out through this side
+ *  - DISABLED: this side does nothing at all (no capability, no network link)
+ *
+ * Players cycle a face with a wrench, or by sneak-using the block with an empty hand.
+ * Each bridge stores its six modes packed into one int, 2 bits per face (see EnergyBridgeBE).
+ * =====================================
+ */
+public enum FaceMode implements StringRepresentable {
+    BOTH("both", true, true),
+    INPUT("input", true, false),
+    OUTPUT("output", false, true),
+    DISABLED("disabled", false, false);
+
+    // values() clones its array on every call; keep one copy for unpacking.
+    private static final FaceMode[] VALUES = values();
+
+    private final String name;
+    private final boolean input;
+    private final boolean output;
+
+    FaceMode(String name, boolean input, boolean output) {
+        this.name = name;
+        this.input = input;
+        this.output = output;
+    }
+
+    /** @return true if energy may come IN through a face in this mode. */
+    public boolean input() { return input; }
+
+    /** @return true if energy may go OUT through a face in this mode. */
+    public boolean output() { return output; }
+
+    /** @return the mode after this one when a player cycles the face. */
+    public FaceMode next() { return VALUES[(ordinal() + 1) % VALUES.length]; }
+
+    /** @return the mode stored in the low 2 bits of this value. */
+    static FaceMode byId(int id) { return VALUES[id & 3]; }
+
+    @Override
+    public String getSerializedName() { return name; }
+}
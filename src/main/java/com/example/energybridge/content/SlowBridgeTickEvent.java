@@ -0,0 +1,79 @@
+package com.example.energybridge.content;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import net.minecraft.core.Direction;
+
+/**
+ * =====================================
+ * SlowBridgeTickEvent.java
+ * -------------------------------------
+ * A Java Flight Recorder event for one bridge network tick that took longer
+ * than BridgeConfig.SLOW_TICK_NANOS. Start a recording (e.g. "jcmd <pid> JFR.start")
+ * and open it in JDK Mission Control to see where and when bridges were slow.
+ *
+ * Only created on slow ticks, and only filled in while a recording is running,
+ * so it costs nothing otherwise.
+ * =====================================
+ */
+@Name("energybridge.SlowBridgeTick")
+@Label("Slow Bridge Tick")
+@Category({"Energy Bridge"})
+@Description("A bridge network tick that took longer than the configured threshold")
+@StackTrace(false)
+final class SlowBridgeTickEvent extends jdk.jfr.Event {
+    // At most this many endpoints are listed in the "endpoints" field.
+    private static final int MAX_LISTED_ENDPOINTS = 8;
+
+    @Label("Dimension")
+    String dimension;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Z")
+    int z;
+
+    @Label("Tier")
+    String tier;
+
+    @Label("Members")
+    int members;
+
+    @Label("Endpoint Count")
+    int endpointCount;
+
+    @Label("Endpoints")
+    @Description("Member position and face of the first endpoints, e.g. \"10 64 -3 up\"")
+    String endpoints;
+
+    @Label("Pulled FE")
+    long pulled;
+
+    @Label("Pushed FE")
+    long pushed;
+
+    @Label("Tick Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long tickTime;
+
+    /**
+     * Build the "endpoints" text: "x y z face" for each endpoint, comma separated, with a count of the rest.
+     */
+    static String describeEndpoints(EnergyBridgeBE[] bridges, Direction[] sides, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(count, MAX_LISTED_ENDPOINTS); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(bridges[i].getBlockPos().toShortString().replace(",", "")).append(' ').append(sides[i].getSerializedName());
+        }
+        if (count > MAX_LISTED_ENDPOINTS) sb.append(", +").append(count - MAX_LISTED_ENDPOINTS).append(" more");
+        return sb.toString();
+    }
+}
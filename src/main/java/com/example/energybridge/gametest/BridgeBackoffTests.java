@@ -0,0 +1,77 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * =====================================
+ * BridgeBackoffTests.java (GameTests)
+ * -------------------------------------
+ * Adaptive backoff (BridgeConfig.BACKOFF_AFTER_REFUSALS): a neighbor that
+ * keeps refusing is asked less and less often, and is asked again right away
+ * once its block changes.
+ *
+ * Has its own batch, because it changes server config values while it runs.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeBackoffTests {
+    private BridgeBackoffTests() {}
+
+    private static final int REFUSALS = 4;
+    private static final int MAX_TICKS = 32;
+    // The bridge fills from the source meanwhile (2,000 FE/t into 100,000 FE), so it stays awake all along.
+    private static final int MEASURE_FROM = 5;
+    private static final int MEASURE_TO = 45;
+    // Ticks the sink gets after its block update to receive energy again (far less than MAX_TICKS).
+    private static final int RESET_TICKS = 3;
+
+    /**
+     * source -> bridge -> full sink: the sink is asked a few times, then less and less often. When it has room again
+     * and sends a block update, energy reaches it within a few ticks.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_backoff", timeoutTicks = MEASURE_TO + RESET_TICKS + 20)
+    public static void refusingSideIsAskedLessOften(GameTestHelper helper) {
+        int oldRefusals = BridgeConfig.BACKOFF_AFTER_REFUSALS.get();
+        int oldMaxTicks = BridgeConfig.BACKOFF_MAX_TICKS.get();
+        int oldInterval = BridgeConfig.TRANSFER_INTERVAL_TICKS.get();
+        BridgeConfig.BACKOFF_AFTER_REFUSALS.set(REFUSALS);
+        BridgeConfig.BACKOFF_MAX_TICKS.set(MAX_TICKS);
+        BridgeConfig.TRANSFER_INTERVAL_TICKS.set(1);
+
+        BlockPos sinkPos = new BlockPos(3, 1, 1);
+        helper.setBlock(new BlockPos(1, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(new BlockPos(2, 1, 1), ModRegistries.ENERGY_BRIDGE.get());
+        helper.setBlock(sinkPos, TestBlocks.CREATIVE_SINK.get());
+        CreativeEnergyBE sink = helper.getBlockEntity(sinkPos);
+        sink.setRefusing(true);
+
+        long[] askedBefore = new long[1];
+        helper.runAtTickTime(MEASURE_FROM, () -> askedBefore[0] = sink.getAsked());
+        helper.runAtTickTime(MEASURE_TO, () -> {
+            long asked = sink.getAsked() - askedBefore[0];
+            // Without backoff: one simulated call per tick. With it: a few, then waits of 2, 4, 8, 16, 32 ticks.
+            if (asked > (MEASURE_TO - MEASURE_FROM) / 4) {
+                helper.fail("The full sink was asked " + asked + " times in " + (MEASURE_TO - MEASURE_FROM) + " ticks");
+            }
+            if (sink.getMoved() != 0) helper.fail("A refusing sink received energy");
+            // The sink has room again and tells its neighbors, like a machine whose contents changed.
+            sink.setRefusing(false);
+            helper.getLevel().updateNeighborsAt(helper.absolutePos(sinkPos), TestBlocks.CREATIVE_SINK.get());
+        });
+        helper.runAtTickTime(MEASURE_TO + RESET_TICKS, () -> {
+            BridgeConfig.BACKOFF_AFTER_REFUSALS.set(oldRefusals);
+            BridgeConfig.BACKOFF_MAX_TICKS.set(oldMaxTicks);
+            BridgeConfig.TRANSFER_INTERVAL_TICKS.set(oldInterval);
+            if (sink.getMoved() == 0) helper.fail("The sink was not asked again after its block update");
+            helper.succeed();
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * =====================================
+ * BridgeCatchUpTests.java (GameTests)
+ * -------------------------------------
+ * Offline catch-up (BridgeConfig.OFFLINE_CATCH_UP): a bridge loaded with a
+ * saved flow moves rate x ticks away in one go, but only what its neighbors
+ * really take and its buffer holds.
+ *
+ * "Loading" swaps the placed block entity for a fresh one that read a tag
+ * saved AWAY ticks ago, like a chunk coming back from disk.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeCatchUpTests {
+    private BridgeCatchUpTests() {}
+
+    private static final long AWAY = 100;
+    private static final int LOAD_AT = 5;
+    // The catch-up runs at the start of the world tick after the load.
+    private static final int CHECK_AT = LOAD_AT + 2;
+
+    /**
+     * source -> bridge -> sink, saved with 500 FE/t through: the sink gets at least 500 x AWAY FE right after loading,
+     * and every FE taken from the source is in the sink or the bridge.
+     */
+    @GameTest(template = "empty_8", timeoutTicks = CHECK_AT + 20)
+    public static void flowIsCaughtUp(GameTestHelper helper) {
+        long rate = 500;
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        CreativeEnergyBE[] ends = place(helper, bridgePos);
+        long[] sunkBefore = new long[1];
+
+        helper.runAtTickTime(LOAD_AT, () -> {
+            sunkBefore[0] = ends[1].getMoved();
+            reload(helper, bridgePos, rate, rate);
+        });
+        helper.runAtTickTime(CHECK_AT, () -> {
+            long sunk = ends[1].getMoved() - sunkBefore[0];
+            if (sunk < rate * AWAY) helper.fail("The sink got " + sunk + " FE, less than " + rate * AWAY + " FE owed");
+            EnergyBridgeBE bridge = helper.getBlockEntity(bridgePos);
+            long sourced = ends[0].getMoved();
+            if (sourced != ends[1].getMoved() + bridge.getEnergyStored()) {
+                helper.fail("FE doesn't balance: " + sourced + " sourced != " + ends[1].getMoved() + " sunk + "
+                        + bridge.getEnergyStored() + " stored");
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * The same with a sink that takes nothing: nothing is pushed, and the pulls stop at the bridge's capacity.
+     */
+    @GameTest(template = "empty_8", timeoutTicks = CHECK_AT + 20)
+    public static void catchUpRespectsNeighborsAndCapacity(GameTestHelper helper) {
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        CreativeEnergyBE[] ends = place(helper, bridgePos);
+        ends[1].setRefusing(true);
+
+        helper.runAtTickTime(LOAD_AT, () -> {
+            EnergyBridgeBE bridge = helper.getBlockEntity(bridgePos);
+            // Rates that would move ten times the capacity over AWAY ticks.
+            long rate = bridge.getTier().capacity() * 10 / AWAY;
+            reload(helper, bridgePos, rate, rate);
+        });
+        helper.runAtTickTime(CHECK_AT, () -> {
+            EnergyBridgeBE bridge = helper.getBlockEntity(bridgePos);
+            helper.assertValueEqual(bridge.getEnergyStored(), bridge.getTier().capacity(), "energy after catching up");
+            helper.assertValueEqual(ends[1].getMoved(), 0L, "FE pushed into a refusing sink");
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Creative source west of the bridge, creative sink east of it.
+     * @return {source, sink}
+     */
+    private static CreativeEnergyBE[] place(GameTestHelper helper, BlockPos bridgePos) {
+        helper.setBlock(bridgePos.west(), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridgePos, ModRegistries.ENERGY_BRIDGE.get());
+        helper.setBlock(bridgePos.east(), TestBlocks.CREATIVE_SINK.get());
+        return new CreativeEnergyBE[] {helper.getBlockEntity(bridgePos.west()), helper.getBlockEntity(bridgePos.east())};
+    }
+
+    /**
+     * Replace the bridge's block entity with one loaded from its own save, edited to say it was saved AWAY ticks ago
+     * while moving these rates.
+     */
+    private static void reload(GameTestHelper helper, BlockPos pos, long rateIn, long rateOut) {
+        ServerLevel level = helper.getLevel();
+        BlockPos absolute = helper.absolutePos(pos);
+        EnergyBridgeBE placed = helper.getBlockEntity(pos);
+        CompoundTag tag = placed.saveWithoutMetadata(level.registryAccess());
+        tag.putInt("RateIn", (int) rateIn);
+        tag.putInt("RateOut", (int) rateOut);
+        tag.putLong("SavedAt", level.getGameTime() - AWAY);
+
+        EnergyBridgeBE loaded = new EnergyBridgeBE(absolute, level.getBlockState(absolute));
+        loaded.loadAdditional(tag, level.registryAccess());
+        level.setBlockEntity(loaded); // The old one leaves its network, the new one joins (onLoad) and queues the catch-up.
+    }
+}
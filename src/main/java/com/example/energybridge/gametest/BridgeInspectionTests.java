@@ -0,0 +1,74 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeInspection;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * =====================================
+ * BridgeInspectionTests.java (GameTests)
+ * -------------------------------------
+ * On-demand stats (BridgeInspection): energy is not in the chunk-load data,
+ * and a watched bridge counts exactly what each of its faces moves.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeInspectionTests {
+    private BridgeInspectionTests() {}
+
+    private static final int WATCH_AT = 10;
+    private static final int CHECK_AT = 40;
+
+    /**
+     * source -> bridge -> sink along x: everything comes in through the west face and leaves through the east face.
+     */
+    @GameTest(template = "empty_8", timeoutTicks = CHECK_AT + 20)
+    public static void watchedSidesMatchTransfers(GameTestHelper helper) {
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        helper.setBlock(new BlockPos(1, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridgePos, ModRegistries.ENERGY_BRIDGE.get());
+        helper.setBlock(new BlockPos(3, 1, 1), TestBlocks.CREATIVE_SINK.get());
+        CreativeEnergyBE sink = helper.getBlockEntity(new BlockPos(3, 1, 1));
+        EnergyBridgeBE bridge = helper.getBlockEntity(bridgePos);
+        ServerLevel level = helper.getLevel();
+        BlockPos absolute = helper.absolutePos(bridgePos);
+
+        long[] before = new long[1];
+        helper.runAtTickTime(WATCH_AT, () -> {
+            if (bridge.getUpdateTag(level.registryAccess()).contains("Energy")) {
+                helper.fail("Energy is still sent to every client with the chunk");
+            }
+            if (BridgeInspection.sideTotals(level, absolute) != null) helper.fail("Counting before anyone watches");
+            BridgeInspection.watch(level, absolute);
+            before[0] = sink.getMoved();
+        });
+        helper.runAtTickTime(CHECK_AT, () -> {
+            long[] totals = BridgeInspection.sideTotals(level, absolute);
+            BridgeInspection.unwatch(level, absolute);
+            if (totals == null) {
+                helper.fail("A watched bridge has no counters");
+                return;
+            }
+            int sides = Direction.values().length;
+            long moved = sink.getMoved() - before[0];
+            if (moved == 0) helper.fail("No energy reached the sink");
+            helper.assertValueEqual(totals[sides + Direction.EAST.ordinal()], moved, "FE out through the east face");
+            if (totals[Direction.WEST.ordinal()] == 0) helper.fail("Nothing counted in through the west face");
+            for (Direction side : Direction.values()) {
+                if (side != Direction.WEST) helper.assertValueEqual(totals[side.ordinal()], 0L, "FE in through " + side);
+                if (side != Direction.EAST) helper.assertValueEqual(totals[sides + side.ordinal()], 0L, "FE out through " + side);
+            }
+            if (BridgeInspection.sideTotals(level, absolute) != null) helper.fail("Counters kept after the last watcher left");
+            helper.succeed();
+        });
+    }
+}
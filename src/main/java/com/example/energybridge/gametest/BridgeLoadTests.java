@@ -0,0 +1,259 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.content.FaceMode;
+import com.example.energybridge.registry.ModRegistries;
+import com.mojang.logging.LogUtils;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgeLoadTests.java (GameTests)
+ * -------------------------------------
+ * Headless load tests: build a big bridge structure, let it run for a fixed
+ * number of ticks, and fail if
+ *  - the world's average or p99 tick time goes over the test's budget, or
+ *  - the FE totals don't balance (FE from sources != FE into sinks + FE stored).
+ *
+ * Run them with "./gradlew runGameTestServer". The server starts, runs every
+ * test, and exits with an error if any failed. Each test has its own batch,
+ * so they run one after another and don't skew each other's timings.
+ *
+ * Budgets are for a typical dev machine. On slower hardware scale them all with
+ * -Denergybridge.gametest.budgetScale=2 (or any factor).
+ *
+ * Sources and sinks are the creative test blocks from TestBlocks.
+ * All structures are built inside the empty 32x32x32 template "empty_32".
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeLoadTests {
+    private BridgeLoadTests() {}
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final String TEMPLATE = "empty_32";
+    // Ticks to let bridges load, join into networks and settle before measuring.
+    private static final int WARMUP_TICKS = 20;
+    // Ticks that are measured.
+    private static final int MEASURE_TICKS = 200;
+    private static final int TIMEOUT_TICKS = WARMUP_TICKS + MEASURE_TICKS + 100;
+
+    private static final double BUDGET_SCALE =
+            Double.parseDouble(System.getProperty("energybridge.gametest.budgetScale", "1"));
+
+    // ======= Tests =======
+
+    /**
+     * 10,000 basic bridges in one 25x20x20 block, 400 sources on one side and 400 sinks on the other.
+     */
+    @GameTest(template = TEMPLATE, batch = "energybridge_grid_10k", timeoutTicks = TIMEOUT_TICKS)
+    public static void grid10k(GameTestHelper helper) {
+        Load load = new Load(helper);
+        for (int x = 2; x <= 26; x++) {
+            for (int y = 2; y <= 21; y++) {
+                for (int z = 2; z <= 21; z++) load.bridge(new BlockPos(x, y, z), ModRegistries.ENERGY_BRIDGE.get());
+            }
+        }
+        for (int y = 2; y <= 21; y++) {
+            for (int z = 2; z <= 21; z++) {
+                load.source(new BlockPos(1, y, z));
+                load.sink(new BlockPos(27, y, z));
+            }
+        }
+        load.run(8.0, 20.0, true);
+    }
+
+    /**
+     * One long chain (about 6,700 basic bridges) snaking through the template: a single big network,
+     * with one source at the start and one sink at the end.
+     */
+    @GameTest(template = TEMPLATE, batch = "energybridge_chain", timeoutTicks = TIMEOUT_TICKS)
+    public static void longChain(GameTestHelper helper) {
+        Load load = new Load(helper);
+        List<BlockPos> path = snake(1, 29);
+        for (BlockPos pos : path) load.bridge(pos, ModRegistries.ENERGY_BRIDGE.get());
+        load.source(path.get(0).below());
+        load.sink(path.get(path.size() - 1).above());
+        load.run(6.0, 15.0, true);
+    }
+
+    /**
+     * The same chain with alternating basic/advanced bridges, so every bridge is its own network and energy
+     * has to hop from buffer to buffer. Faces point the flow along the chain (input from the previous bridge,
+     * output to the next, the rest disabled). Energy can't reach the far end in the measured ticks, so the sink
+     * isn't required to receive anything.
+     */
+    @GameTest(template = TEMPLATE, batch = "energybridge_chain_mixed_tiers", timeoutTicks = TIMEOUT_TICKS)
+    public static void longChainMixedTiers(GameTestHelper helper) {
+        Load load = new Load(helper);
+        List<BlockPos> path = snake(1, 29);
+        for (int i = 0; i < path.size(); i++) {
+            Block block = i % 2 == 0 ? ModRegistries.ENERGY_BRIDGE.get() : ModRegistries.ADVANCED_ENERGY_BRIDGE.get();
+            EnergyBridgeBE be = load.bridge(path.get(i), block);
+            Direction in = i == 0 ? Direction.DOWN : direction(path.get(i), path.get(i - 1));
+            Direction out = i == path.size() - 1 ? Direction.UP : direction(path.get(i), path.get(i + 1));
+            for (Direction dir : Direction.values()) {
+                be.setFaceMode(dir, dir == in ? FaceMode.INPUT : dir == out ? FaceMode.OUTPUT : FaceMode.DISABLED);
+            }
+        }
+        load.source(path.get(0).below());
+        load.sink(path.get(path.size() - 1).above());
+        load.run(15.0, 30.0, false);
+    }
+
+    /**
+     * A 29x29 sheet of basic bridges with sources and sinks mixed above and below it in a checkerboard.
+     */
+    @GameTest(template = TEMPLATE, batch = "energybridge_mixed", timeoutTicks = TIMEOUT_TICKS)
+    public static void mixedSourcesAndSinks(GameTestHelper helper) {
+        Load load = new Load(helper);
+        for (int x = 1; x <= 29; x++) {
+            for (int z = 1; z <= 29; z++) {
+                load.bridge(new BlockPos(x, 2, z), ModRegistries.ENERGY_BRIDGE.get());
+                boolean sourceAbove = (x + z) % 2 == 0;
+                if (sourceAbove) {
+                    load.source(new BlockPos(x, 3, z));
+                    load.sink(new BlockPos(x, 1, z));
+                } else {
+                    load.sink(new BlockPos(x, 3, z));
+                    load.source(new BlockPos(x, 1, z));
+                }
+            }
+        }
+        load.run(5.0, 15.0, true);
+    }
+
+    // ======= Helpers =======
+
+    /**
+     * The blocks one test placed, and the measuring/checking around them.
+     */
+    private static final class Load {
+        private final GameTestHelper helper;
+        private final List<EnergyBridgeBE> bridges = new ArrayList<>();
+        private final List<CreativeEnergyBE> sources = new ArrayList<>();
+        private final List<CreativeEnergyBE> sinks = new ArrayList<>();
+
+        Load(GameTestHelper helper) {
+            this.helper = helper;
+        }
+
+        EnergyBridgeBE bridge(BlockPos pos, Block block) {
+            helper.setBlock(pos, block.defaultBlockState());
+            EnergyBridgeBE be = helper.getBlockEntity(pos);
+            bridges.add(be);
+            return be;
+        }
+
+        void source(BlockPos pos) {
+            sources.add(place(pos, TestBlocks.CREATIVE_SOURCE.get().defaultBlockState()));
+        }
+
+        void sink(BlockPos pos) {
+            sinks.add(place(pos, TestBlocks.CREATIVE_SINK.get().defaultBlockState()));
+        }
+
+        private CreativeEnergyBE place(BlockPos pos, BlockState state) {
+            helper.setBlock(pos, state);
+            return helper.getBlockEntity(pos);
+        }
+
+        /**
+         * Warm up, measure for MEASURE_TICKS ticks, then check the budget and the FE balance.
+         * @param avgBudgetMs  Most the average world tick may take (before BUDGET_SCALE).
+         * @param p99BudgetMs  Most the 99th-percentile world tick may take (before BUDGET_SCALE).
+         * @param sinksMustGet Whether the sinks must have received energy by the end.
+         */
+        void run(double avgBudgetMs, double p99BudgetMs, boolean sinksMustGet) {
+            TickProbe[] probe = new TickProbe[1];
+            helper.runAtTickTime(WARMUP_TICKS, () -> probe[0] = TickProbe.attach(helper.getLevel()));
+            helper.runAtTickTime(WARMUP_TICKS + MEASURE_TICKS, () -> {
+                probe[0].detach();
+                check(probe[0], avgBudgetMs * BUDGET_SCALE, p99BudgetMs * BUDGET_SCALE, sinksMustGet);
+                helper.succeed();
+            });
+        }
+
+        private void check(TickProbe probe, double avgBudgetMs, double p99BudgetMs, boolean sinksMustGet) {
+            long sourced = 0;
+            for (CreativeEnergyBE be : sources) sourced += be.getMoved();
+            long sunk = 0;
+            for (CreativeEnergyBE be : sinks) sunk += be.getMoved();
+            long stored = 0;
+            for (EnergyBridgeBE be : bridges) stored += be.getEnergyStored();
+
+            LOGGER.info("{} bridges over {} ticks: avg {} ms, p99 {} ms (budget {} / {}); FE sourced {}, sunk {}, stored {}",
+                    bridges.size(), probe.count(), String.format("%.3f", probe.averageMs()), String.format("%.3f", probe.p99Ms()),
+                    avgBudgetMs, p99BudgetMs, sourced, sunk, stored);
+
+            if (probe.count() == 0) helper.fail("No ticks were measured");
+            if (probe.averageMs() > avgBudgetMs) {
+                helper.fail(String.format("Average tick %.3f ms is over the %.3f ms budget", probe.averageMs(), avgBudgetMs));
+            }
+            if (probe.p99Ms() > p99BudgetMs) {
+                helper.fail(String.format("p99 tick %.3f ms is over the %.3f ms budget", probe.p99Ms(), p99BudgetMs));
+            }
+            if (sourced != sunk + stored) {
+                helper.fail("FE doesn't balance: " + sourced + " sourced != " + sunk + " sunk + " + stored + " stored");
+            }
+            if (sourced == 0) helper.fail("No energy was pulled from the sources");
+            if (sinksMustGet && sunk == 0) helper.fail("No energy reached the sinks");
+        }
+    }
+
+    /**
+     * A single path through the cube [lo, hi]^3 (hi - lo must be even): rows along X on every other Z,
+     * layers on every other Y, joined at the row/layer ends.
+     * Only consecutive positions touch, so the path is one long chain.
+     */
+    private static List<BlockPos> snake(int lo, int hi) {
+        List<BlockPos> path = new ArrayList<>();
+        BlockPos cur = new BlockPos(lo, lo, lo);
+        path.add(cur);
+        int rows = (hi - lo) / 2 + 1;
+        int zStep = 2;
+        for (int y = lo; y <= hi; y += 2) {
+            for (int row = 0; row < rows; row++) {
+                cur = lineTo(path, cur, new BlockPos(cur.getX() == lo ? hi : lo, y, cur.getZ()));
+                if (row < rows - 1) cur = lineTo(path, cur, cur.offset(0, 0, zStep));
+            }
+            zStep = -zStep; // The next layer walks its rows back the other way.
+            if (y + 2 <= hi) cur = lineTo(path, cur, cur.offset(0, 2, 0));
+        }
+        return path;
+    }
+
+    /**
+     * Walk in a straight line from {@code from} to {@code to}, adding every block after {@code from} to the path.
+     */
+    private static BlockPos lineTo(List<BlockPos> path, BlockPos from, BlockPos to) {
+        BlockPos cur = from;
+        while (!cur.equals(to)) {
+            cur = cur.offset(Integer.signum(to.getX() - cur.getX()), Integer.signum(to.getY() - cur.getY()),
+                    Integer.signum(to.getZ() - cur.getZ()));
+            path.add(cur);
+        }
+        return cur;
+    }
+
+    /**
+     * @return the side of {@code from} that touches {@code to} (they must be neighbors).
+     */
+    private static Direction direction(BlockPos from, BlockPos to) {
+        return Direction.fromDelta(to.getX() - from.getX(), to.getY() - from.getY(), to.getZ() - from.getZ());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgeMemoryTests.java (GameTests)
+ * -------------------------------------
+ * Pins how much memory bridges cost, using the JVM's per-thread allocation
+ * counter (com.sun.management.ThreadMXBean, available on HotSpot/OpenJDK):
+ *  - bytes allocated per new bridge block entity (chunk loads create
+ *    thousands of them at once), and
+ *  - bytes allocated by bridge ticks once they are running (must be none).
+ *
+ * Has its own batch, so other tests' bridges don't tick while we measure.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeMemoryTests {
+    private BridgeMemoryTests() {}
+
+    // Most bytes one new EnergyBridgeBE may allocate: the object itself, nothing else.
+    // (The old layout, with an EnumMap and seven side handlers per bridge, needed more than twice this.)
+    private static final long BYTES_PER_BRIDGE = 160;
+    private static final int BRIDGES = 10_000;
+
+    private static final int WARMUP_TICKS = 20;
+    private static final int MEASURE_TICKS = 40;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Creating a bridge block entity allocates only the block entity; handlers and caches come later, when used.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_memory")
+    public static void bytesPerBridge(GameTestHelper helper) {
+        BlockState state = ModRegistries.ENERGY_BRIDGE.get().defaultBlockState();
+        EnergyBridgeBE[] bridges = new EnergyBridgeBE[BRIDGES]; // Kept, so the JIT can't drop the allocations.
+        new EnergyBridgeBE(BlockPos.ZERO, state); // Class loading and first-use allocations don't count.
+
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < BRIDGES; i++) bridges[i] = new EnergyBridgeBE(BlockPos.ZERO, state);
+        long perBridge = (THREADS.getCurrentThreadAllocatedBytes() - before) / BRIDGES;
+
+        if (perBridge > BYTES_PER_BRIDGE) {
+            helper.fail("A new bridge allocates " + perBridge + " bytes (budget " + BYTES_PER_BRIDGE + ")");
+        }
+        helper.succeed();
+    }
+
+    /**
+     * A running 6x6 network (sources above one row, sinks below another) allocates nothing per tick.
+     * The bridges are test bridges without a ticker (TestBlocks.UNTICKED_BRIDGE): only this test ticks them, so
+     * only bridge code runs between the two counter reads. Expects the default ticker mode; in scheduler mode the
+     * scheduler would tick these networks too.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_memory", timeoutTicks = WARMUP_TICKS + MEASURE_TICKS + 40)
+    public static void tickAllocatesNothing(GameTestHelper helper) {
+        List<BlockPos> placed = new ArrayList<>();
+        List<EnergyBridgeBE> bridges = new ArrayList<>();
+        for (int x = 1; x <= 6; x++) {
+            for (int z = 1; z <= 6; z++) {
+                BlockPos pos = new BlockPos(x, 2, z);
+                helper.setBlock(pos, TestBlocks.UNTICKED_BRIDGE.get());
+                placed.add(pos);
+                bridges.add(helper.getBlockEntity(pos));
+            }
+            BlockPos source = new BlockPos(x, 3, 1);
+            BlockPos sink = new BlockPos(x, 1, 6);
+            helper.setBlock(source, TestBlocks.CREATIVE_SOURCE.get());
+            helper.setBlock(sink, TestBlocks.CREATIVE_SINK.get());
+            placed.add(source);
+            placed.add(sink);
+        }
+        CreativeEnergyBE firstSink = helper.getBlockEntity(new BlockPos(1, 1, 6));
+
+        int[] ticks = new int[1];
+        long[] allocated = new long[1];
+        helper.onEachTick(() -> {
+            int tick = ++ticks[0];
+            if (tick > WARMUP_TICKS + MEASURE_TICKS) return;
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < bridges.size(); i++) {
+                EnergyBridgeBE be = bridges.get(i);
+                EnergyBridgeBE.serverTick(helper.getLevel(), be.getBlockPos(), be.getBlockState(), be);
+            }
+            long bytes = THREADS.getCurrentThreadAllocatedBytes() - before;
+            if (tick > WARMUP_TICKS) allocated[0] += bytes;
+        });
+        helper.runAtTickTime(WARMUP_TICKS + MEASURE_TICKS + 1, () -> {
+            long moved = firstSink.getMoved();
+            for (BlockPos pos : placed) helper.setBlock(pos, Blocks.AIR);
+            if (moved == 0) helper.fail("No energy reached the sinks, so the ticks did nothing");
+            if (allocated[0] > 0) {
+                helper.fail(allocated[0] + " bytes allocated by " + MEASURE_TICKS + " ticks of " + bridges.size() + " bridges");
+            }
+            helper.succeed();
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeNetworkManager;
+import com.example.energybridge.content.BridgeScheduler;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgeParallelTests.java (GameTests)
+ * -------------------------------------
+ * Parallel planning (BridgeConfig.PARALLEL_PLANNING) must move exactly the
+ * same energy as ticking the networks one by one.
+ *
+ * The test builds the same small layout twice in scheduler mode: once with
+ * parallel planning off, once with it on, each for the same number of ticks,
+ * and compares every source, sink and bridge afterwards. The layout has
+ * networks on their own (planned on the pool) and networks sharing a sink or
+ * touching a bridge of another tier (the conflict rule sends those the serial
+ * way). The second build starts RESTART_TICKS later, a multiple of every
+ * endpoint count, so the rounding rotation (game time) lines up too.
+ *
+ * The backoff state of every bridge is compared as well: a network whose
+ * push plan goes stale (a source gave less than it promised) pushes the
+ * serial way, and its refusing sink must back off exactly as fast.
+ *
+ * Has its own batch, because it changes server config values while it runs.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeParallelTests {
+    private BridgeParallelTests() {}
+
+    // Ticks each build runs before it is compared.
+    private static final int RUN_TICKS = 40;
+    // Ticks between the two builds: divisible by 1..6, the endpoint counts used below.
+    private static final int RESTART_TICKS = 120;
+
+    @GameTest(template = "empty_8", batch = "energybridge_parallel", timeoutTicks = RESTART_TICKS + RUN_TICKS + 40)
+    public static void parallelMatchesSerial(GameTestHelper helper) {
+        boolean oldScheduler = BridgeConfig.SCHEDULER_MODE.get();
+        long oldBudget = BridgeConfig.SCHEDULER_BUDGET_NANOS.get();
+        boolean oldParallel = BridgeConfig.PARALLEL_PLANNING.get();
+        int oldMinNetworks = BridgeConfig.PARALLEL_MIN_NETWORKS.get();
+        // Scheduler mode before placing anything, so the bridges get no ticker of their own.
+        // The largest budget, so no network is ever deferred (which would depend on timing).
+        BridgeConfig.SCHEDULER_MODE.set(true);
+        BridgeConfig.SCHEDULER_BUDGET_NANOS.set(50_000_000L);
+        BridgeConfig.PARALLEL_MIN_NETWORKS.set(1);
+        BridgeConfig.PARALLEL_PLANNING.set(false);
+
+        Layout serial = new Layout(helper);
+        Layout parallel = new Layout(helper);
+        List<Long> serialResult = new ArrayList<>();
+        List<String> serialBackoff = new ArrayList<>();
+        int[] plannedInParallel = new int[1];
+
+        helper.runAtTickTime(1, serial::build);
+        helper.runAtTickTime(1 + RUN_TICKS, () -> {
+            serialResult.addAll(serial.snapshot());
+            serialBackoff.addAll(serial.backoff());
+            serial.clear();
+        });
+        helper.runAtTickTime(1 + RESTART_TICKS, () -> {
+            BridgeConfig.PARALLEL_PLANNING.set(true);
+            parallel.build();
+        });
+        helper.runAtTickTime(RESTART_TICKS + RUN_TICKS, () -> {
+            BridgeScheduler scheduler = BridgeNetworkManager.scheduler(helper.getLevel());
+            plannedInParallel[0] = scheduler == null ? 0 : scheduler.lastPlannedInParallel();
+        });
+        helper.runAtTickTime(1 + RESTART_TICKS + RUN_TICKS, () -> {
+            List<Long> parallelResult = parallel.snapshot();
+            List<String> parallelBackoff = parallel.backoff();
+            parallel.clear();
+            BridgeConfig.PARALLEL_PLANNING.set(oldParallel);
+            BridgeConfig.PARALLEL_MIN_NETWORKS.set(oldMinNetworks);
+            BridgeConfig.SCHEDULER_BUDGET_NANOS.set(oldBudget);
+            BridgeConfig.SCHEDULER_MODE.set(oldScheduler);
+
+            if (plannedInParallel[0] == 0) helper.fail("No network was planned in parallel");
+            long total = 0;
+            for (long value : serialResult) total += value;
+            if (total == 0) helper.fail("No energy moved");
+            helper.assertValueEqual(parallelResult, serialResult, "FE moved/stored per block (parallel vs serial)");
+            helper.assertValueEqual(parallelBackoff, serialBackoff, "backoff per bridge face (parallel vs serial)");
+            helper.succeed();
+        });
+    }
+
+    /**
+     * The layout, one row per z:
+     *  z=0: source - 2 basic - sink - basic - source  (two networks sharing the sink: serial)
+     *  z=2: source - basic - sink                     (on its own: parallel)
+     *       source - basic - advanced                 (two networks of different tiers touching: serial)
+     *  z=4: source - basic - advanced - basic - sink  (three networks in a row: serial)
+     *  z=6: a basic bridge with three sources around it and a sink behind it (on its own: parallel,
+     *       and the pull budget doesn't split evenly, so the rounding rotation matters)
+     *       source (gives half) - basic - refusing sink  (on its own: parallel, push plan always stale)
+     */
+    private static final class Layout {
+        private final GameTestHelper helper;
+        private final List<BlockPos> placed = new ArrayList<>();
+        private final List<CreativeEnergyBE> creative = new ArrayList<>();
+        private final List<EnergyBridgeBE> bridges = new ArrayList<>();
+
+        Layout(GameTestHelper helper) {
+            this.helper = helper;
+        }
+
+        void build() {
+            source(0, 1, 0);
+            bridge(1, 1, 0, ModRegistries.ENERGY_BRIDGE.get());
+            bridge(2, 1, 0, ModRegistries.ENERGY_BRIDGE.get());
+            sink(3, 1, 0);
+            bridge(4, 1, 0, ModRegistries.ENERGY_BRIDGE.get());
+            source(5, 1, 0);
+
+            source(0, 1, 2);
+            bridge(1, 1, 2, ModRegistries.ENERGY_BRIDGE.get());
+            sink(2, 1, 2);
+            source(5, 1, 2);
+            bridge(6, 1, 2, ModRegistries.ENERGY_BRIDGE.get());
+            bridge(7, 1, 2, ModRegistries.ADVANCED_ENERGY_BRIDGE.get());
+
+            source(0, 1, 4);
+            bridge(1, 1, 4, ModRegistries.ENERGY_BRIDGE.get());
+            bridge(2, 1, 4, ModRegistries.ADVANCED_ENERGY_BRIDGE.get());
+            bridge(3, 1, 4, ModRegistries.ENERGY_BRIDGE.get());
+            sink(4, 1, 4);
+
+            bridge(2, 1, 6, ModRegistries.ENERGY_BRIDGE.get());
+            source(1, 1, 6);
+            source(3, 1, 6);
+            source(2, 2, 6);
+            sink(2, 1, 7);
+
+            source(5, 1, 6).setShortchanging(true);
+            bridge(6, 1, 6, ModRegistries.ENERGY_BRIDGE.get());
+            sink(7, 1, 6).setRefusing(true);
+        }
+
+        /**
+         * @return FE moved by every source and sink, then FE stored in every bridge, in placing order.
+         */
+        List<Long> snapshot() {
+            List<Long> values = new ArrayList<>();
+            for (CreativeEnergyBE be : creative) values.add(be.getMoved());
+            for (EnergyBridgeBE be : bridges) values.add(be.getEnergyStored());
+            return values;
+        }
+
+        /**
+         * @return the backoff state of every face of every bridge (as /energybridge backoff shows it), in placing order.
+         */
+        List<String> backoff() {
+            List<String> lines = new ArrayList<>();
+            for (EnergyBridgeBE be : bridges) lines.addAll(be.describeBackoff());
+            return lines;
+        }
+
+        void clear() {
+            for (BlockPos pos : placed) helper.setBlock(pos, Blocks.AIR);
+        }
+
+        private void bridge(int x, int y, int z, Block block) {
+            BlockPos pos = new BlockPos(x, y, z);
+            helper.setBlock(pos, block);
+            placed.add(pos);
+            bridges.add(helper.getBlockEntity(pos));
+        }
+
+        private CreativeEnergyBE source(int x, int y, int z) {
+            return creative(new BlockPos(x, y, z), TestBlocks.CREATIVE_SOURCE.get());
+        }
+
+        private CreativeEnergyBE sink(int x, int y, int z) {
+            return creative(new BlockPos(x, y, z), TestBlocks.CREATIVE_SINK.get());
+        }
+
+        private CreativeEnergyBE creative(BlockPos pos, Block block) {
+            helper.setBlock(pos, block);
+            placed.add(pos);
+            CreativeEnergyBE be = helper.getBlockEntity(pos);
+            creative.add(be);
+            return be;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgePassThroughTests.java (GameTests)
+ * -------------------------------------
+ * Pass-through mode (BridgeConfig.PASS_THROUGH): energy inserted into a
+ * bridge goes on to its outputs within the same call, so it crosses a chain
+ * of separate networks in a tick or two and no bridge holds more than the
+ * small buffer. A loop of bridges must neither recurse forever nor create
+ * or lose energy.
+ *
+ * The bridges alternate between two tiers, so every block is a network of
+ * its own (bridges of different tiers don't join).
+ *
+ * Each test has its own batch, because it changes server config values
+ * while it runs.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgePassThroughTests {
+    private BridgePassThroughTests() {}
+
+    private static final long BUFFER = 500;
+    private static final int CHAIN = 6;
+    // Buffered, the first FE needs at least one tick per bridge to reach the sink.
+    private static final int ARRIVE_BY = 4;
+    private static final int LOOP_TICKS = 40;
+
+    /**
+     * source -> 6 bridges -> sink along x: the sink gets energy within a few ticks, every bridge stays within its buffer.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_pass_through", timeoutTicks = ARRIVE_BY + 20)
+    public static void chainForwardsWithinTheTick(GameTestHelper helper) {
+        Runnable restore = enable();
+        BlockPos sinkPos = new BlockPos(CHAIN + 1, 1, 1);
+        helper.setBlock(new BlockPos(0, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        List<EnergyBridgeBE> bridges = new ArrayList<>();
+        for (int i = 1; i <= CHAIN; i++) bridges.add(place(helper, new BlockPos(i, 1, 1), i));
+        helper.setBlock(sinkPos, TestBlocks.CREATIVE_SINK.get());
+        CreativeEnergyBE sink = helper.getBlockEntity(sinkPos);
+
+        helper.runAtTickTime(ARRIVE_BY, () -> {
+            restore.run();
+            if (sink.getMoved() == 0) helper.fail("No energy crossed " + CHAIN + " bridges within " + ARRIVE_BY + " ticks");
+            for (EnergyBridgeBE be : bridges) {
+                if (be.getEnergyStored() > BUFFER) {
+                    helper.fail("A bridge holds " + be.getEnergyStored() + " FE, more than the " + BUFFER + " FE buffer");
+                }
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * A 2x2 loop of bridges between a source and a sink: forwarding around the loop stops at the bridge it started
+     * from, and FE taken from the source == FE given to the sink + FE stored.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_pass_through_loop", timeoutTicks = LOOP_TICKS + 20)
+    public static void loopKeepsTheBalance(GameTestHelper helper) {
+        Runnable restore = enable();
+        BlockPos sourcePos = new BlockPos(1, 1, 2);
+        BlockPos sinkPos = new BlockPos(4, 1, 3);
+        helper.setBlock(sourcePos, TestBlocks.CREATIVE_SOURCE.get());
+        List<EnergyBridgeBE> bridges = List.of(
+                place(helper, new BlockPos(2, 1, 2), 0),
+                place(helper, new BlockPos(3, 1, 2), 1),
+                place(helper, new BlockPos(3, 1, 3), 0),
+                place(helper, new BlockPos(2, 1, 3), 1));
+        helper.setBlock(sinkPos, TestBlocks.CREATIVE_SINK.get());
+        CreativeEnergyBE source = helper.getBlockEntity(sourcePos);
+        CreativeEnergyBE sink = helper.getBlockEntity(sinkPos);
+
+        helper.runAtTickTime(LOOP_TICKS, () -> {
+            restore.run();
+            long stored = 0;
+            for (EnergyBridgeBE be : bridges) stored += be.getEnergyStored();
+            if (sink.getMoved() == 0) helper.fail("No energy went around the loop");
+            if (source.getMoved() != sink.getMoved() + stored) {
+                helper.fail("FE doesn't balance: " + source.getMoved() + " sourced != " + sink.getMoved() + " sunk + "
+                        + stored + " stored");
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Turn pass-through on with a small buffer and a transfer every tick.
+     * @return puts the old values back.
+     */
+    private static Runnable enable() {
+        boolean oldPassThrough = BridgeConfig.PASS_THROUGH.get();
+        long oldBuffer = BridgeConfig.PASS_THROUGH_BUFFER.get();
+        int oldInterval = BridgeConfig.TRANSFER_INTERVAL_TICKS.get();
+        BridgeConfig.PASS_THROUGH.set(true);
+        BridgeConfig.PASS_THROUGH_BUFFER.set(BUFFER);
+        BridgeConfig.TRANSFER_INTERVAL_TICKS.set(1);
+        return () -> {
+            BridgeConfig.PASS_THROUGH.set(oldPassThrough);
+            BridgeConfig.PASS_THROUGH_BUFFER.set(oldBuffer);
+            BridgeConfig.TRANSFER_INTERVAL_TICKS.set(oldInterval);
+        };
+    }
+
+    /**
+     * Place a basic bridge (even i) or an advanced one (odd i), so neighbors never join.
+     */
+    private static EnergyBridgeBE place(GameTestHelper helper, BlockPos pos, int i) {
+        Block block = i % 2 == 0 ? ModRegistries.ENERGY_BRIDGE.get() : ModRegistries.ADVANCED_ENERGY_BRIDGE.get();
+        helper.setBlock(pos, block);
+        return helper.getBlockEntity(pos);
+    }
+}
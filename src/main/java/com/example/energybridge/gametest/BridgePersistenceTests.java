@@ -0,0 +1,211 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeNetworkManager;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.storage.ChunkSerializer;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * =====================================
+ * BridgePersistenceTests.java (GameTests)
+ * -------------------------------------
+ * Saving and loading bridge energy, and how often a working bridge marks its
+ * chunk for saving (persistence.saveThresholdPercent / saveIntervalTicks):
+ * only when the energy moved far enough or long enough ago, and always
+ * exactly when the chunk unloads.
+ *
+ * The marking tests change server config values, so each has its own batch
+ * (which also keeps other tests out of the chunk they watch).
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgePersistenceTests {
+    private BridgePersistenceTests() {}
+
+    // Ticks before counting, so placing the blocks (which marks the chunk itself) is over.
+    private static final int COUNT_FROM = 5;
+    private static final int COUNT_TICKS = 60;
+
+    /**
+     * Loading saved data sets the energy to the saved value; it never adds to what the bridge already held.
+     */
+    @GameTest(template = "empty_8")
+    public static void loadSetsEnergy(GameTestHelper helper) {
+        EnergyBridgeBE be = new EnergyBridgeBE(BlockPos.ZERO, ModRegistries.ENERGY_BRIDGE.get().defaultBlockState());
+        CompoundTag tag = new CompoundTag();
+        tag.putLong("Energy", 500);
+        be.loadAdditional(tag, helper.getLevel().registryAccess());
+        be.loadAdditional(tag, helper.getLevel().registryAccess());
+        helper.assertValueEqual(be.getEnergyStored(), 500L, "energy after loading the same tag twice");
+
+        // A saved value above the tier's capacity (e.g. after the config was lowered) is capped.
+        tag.putLong("Energy", Long.MAX_VALUE);
+        be.loadAdditional(tag, helper.getLevel().registryAccess());
+        helper.assertValueEqual(be.getEnergyStored(), be.getTier().capacity(), "energy after loading too much");
+        helper.succeed();
+    }
+
+    /**
+     * What a bridge saves is exactly what a fresh bridge loads back.
+     */
+    @GameTest(template = "empty_8")
+    public static void saveLoadRoundTrip(GameTestHelper helper) {
+        BlockPos pos = new BlockPos(1, 1, 1);
+        helper.setBlock(pos, ModRegistries.ENERGY_BRIDGE.get().defaultBlockState());
+        helper.runAfterDelay(2, () -> {
+            EnergyBridgeBE placed = helper.getBlockEntity(pos);
+            placed.getEnergy(null).receiveEnergy(1_234, false);
+            CompoundTag saved = placed.saveWithoutMetadata(helper.getLevel().registryAccess());
+
+            EnergyBridgeBE loaded = new EnergyBridgeBE(BlockPos.ZERO, ModRegistries.ENERGY_BRIDGE.get().defaultBlockState());
+            loaded.loadAdditional(saved, helper.getLevel().registryAccess());
+            helper.assertValueEqual(loaded.getEnergyStored(), 1_234L, "energy after a save/load round trip");
+            helper.succeed();
+        });
+    }
+
+    /**
+     * source -> bridge, no sink: the buffer fills by 2,000 FE every tick, but the chunk is only marked about once
+     * per 10% of the capacity (every 5 ticks), not on every change.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_save_threshold", timeoutTicks = COUNT_FROM + COUNT_TICKS + 20)
+    public static void marksOnThreshold(GameTestHelper helper) {
+        int oldPercent = BridgeConfig.SAVE_THRESHOLD_PERCENT.get();
+        int oldInterval = BridgeConfig.SAVE_INTERVAL_TICKS.get();
+        BridgeConfig.SAVE_THRESHOLD_PERCENT.set(10);
+        BridgeConfig.SAVE_INTERVAL_TICKS.set(72_000);
+
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        helper.setBlock(new BlockPos(1, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridgePos, ModRegistries.ENERGY_BRIDGE.get());
+        EnergyBridgeBE bridge = helper.getBlockEntity(bridgePos);
+        int[] marks = countMarks(helper, bridgePos);
+
+        long[] before = new long[1];
+        helper.runAtTickTime(COUNT_FROM, () -> before[0] = bridge.getEnergyStored());
+        helper.runAtTickTime(COUNT_FROM + COUNT_TICKS / 2, () -> {
+            BridgeConfig.SAVE_THRESHOLD_PERCENT.set(oldPercent);
+            BridgeConfig.SAVE_INTERVAL_TICKS.set(oldInterval);
+            // Half the window is enough: a basic bridge is full after 50 ticks.
+            long moved = bridge.getEnergyStored() - before[0];
+            long threshold = bridge.getTier().capacity() / 10;
+            if (moved < 3 * threshold) helper.fail("Only " + moved + " FE came in");
+            long expected = moved / threshold;
+            if (marks[0] < expected - 1 || marks[0] > expected + 1) {
+                helper.fail(marks[0] + " chunk marks for " + moved + " FE (about " + expected + " expected)");
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * source -> bridge -> sink: energy flows through every tick but the buffer stays put, so only the save interval
+     * marks the chunk (20 ticks: 3 times in 60 ticks).
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_save_interval", timeoutTicks = COUNT_FROM + COUNT_TICKS + 20)
+    public static void marksOnInterval(GameTestHelper helper) {
+        int oldPercent = BridgeConfig.SAVE_THRESHOLD_PERCENT.get();
+        int oldInterval = BridgeConfig.SAVE_INTERVAL_TICKS.get();
+        BridgeConfig.SAVE_THRESHOLD_PERCENT.set(10);
+        BridgeConfig.SAVE_INTERVAL_TICKS.set(20);
+
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        helper.setBlock(new BlockPos(1, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridgePos, ModRegistries.ENERGY_BRIDGE.get());
+        helper.setBlock(new BlockPos(3, 1, 1), TestBlocks.CREATIVE_SINK.get());
+        CreativeEnergyBE sink = helper.getBlockEntity(new BlockPos(3, 1, 1));
+        int[] marks = countMarks(helper, bridgePos);
+
+        long[] before = new long[1];
+        helper.runAtTickTime(COUNT_FROM, () -> before[0] = sink.getMoved());
+        helper.runAtTickTime(COUNT_FROM + COUNT_TICKS, () -> {
+            BridgeConfig.SAVE_THRESHOLD_PERCENT.set(oldPercent);
+            BridgeConfig.SAVE_INTERVAL_TICKS.set(oldInterval);
+            if (sink.getMoved() - before[0] < COUNT_TICKS) helper.fail("No steady flow to the sink");
+            int expected = COUNT_TICKS / 20;
+            if (marks[0] < expected - 1 || marks[0] > expected + 1) {
+                helper.fail(marks[0] + " chunk marks in " + COUNT_TICKS + " ticks (about " + expected + " expected)");
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * A drift too small to mark the chunk is still saved exactly when the chunk unloads: the unload marks the chunk,
+     * and the chunk data written then holds the bridge's energy of that moment.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_save_unload", timeoutTicks = COUNT_FROM + 40)
+    public static void unloadSavesExactly(GameTestHelper helper) {
+        int oldPercent = BridgeConfig.SAVE_THRESHOLD_PERCENT.get();
+        int oldInterval = BridgeConfig.SAVE_INTERVAL_TICKS.get();
+        BridgeConfig.SAVE_THRESHOLD_PERCENT.set(100);
+        BridgeConfig.SAVE_INTERVAL_TICKS.set(72_000);
+
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        helper.setBlock(new BlockPos(1, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridgePos, ModRegistries.ENERGY_BRIDGE.get());
+        EnergyBridgeBE bridge = helper.getBlockEntity(bridgePos);
+        BlockPos absolute = helper.absolutePos(bridgePos);
+        LevelChunk chunk = helper.getLevel().getChunkAt(absolute);
+
+        helper.runAtTickTime(COUNT_FROM, () -> chunk.setUnsaved(false));
+        helper.runAtTickTime(COUNT_FROM + 10, () -> {
+            BridgeConfig.SAVE_THRESHOLD_PERCENT.set(oldPercent);
+            BridgeConfig.SAVE_INTERVAL_TICKS.set(oldInterval);
+            long energy = bridge.getEnergyStored();
+            if (energy == 0) helper.fail("No energy came in");
+            if (chunk.isUnsaved()) helper.fail("A drift below the threshold marked the chunk");
+
+            // What the server does when the chunk unloads: our handler, then the chunk is written.
+            BridgeNetworkManager.onChunkUnload(new ChunkEvent.Unload(chunk));
+            if (!chunk.isUnsaved()) helper.fail("The unload did not mark the chunk for saving");
+            CompoundTag saved = ChunkSerializer.write(helper.getLevel(), chunk);
+            chunk.setUnsaved(true); // Leave it for the next autosave, as before.
+            ListTag blockEntities = saved.getList("block_entities", Tag.TAG_COMPOUND);
+            for (int i = 0; i < blockEntities.size(); i++) {
+                CompoundTag tag = blockEntities.getCompound(i);
+                if (BlockEntity.getPosFromTag(tag).equals(absolute)) {
+                    helper.assertValueEqual(tag.getLong("Energy"), energy, "energy written when the chunk unloads");
+                    helper.succeed();
+                    return;
+                }
+            }
+            helper.fail("The bridge is missing from the chunk data");
+        });
+    }
+
+    /**
+     * Count how often the chunk of a test block gets marked for saving: checked (and cleared) once per tick.
+     * @return the count, updated as the test runs (only marks from COUNT_FROM on).
+     */
+    private static int[] countMarks(GameTestHelper helper, BlockPos pos) {
+        LevelChunk chunk = helper.getLevel().getChunkAt(helper.absolutePos(pos));
+        int[] marks = new int[1];
+        int[] tick = new int[1];
+        helper.onEachTick(() -> {
+            if (++tick[0] < COUNT_FROM) {
+                chunk.setUnsaved(false);
+                return;
+            }
+            if (chunk.isUnsaved()) {
+                marks[0]++;
+                chunk.setUnsaved(false);
+            }
+        });
+        return marks;
+    }
+}
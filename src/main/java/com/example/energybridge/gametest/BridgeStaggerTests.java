@@ -0,0 +1,76 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeTier;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * =====================================
+ * BridgeStaggerTests.java (GameTests)
+ * -------------------------------------
+ * Staggered ticking (BridgeConfig.TRANSFER_INTERVAL_TICKS): a network that
+ * moves energy every N ticks must move N times as much each time, so the
+ * average FE/t is the same as moving energy every tick.
+ *
+ * Has its own batch, because it changes a server config value while it runs.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeStaggerTests {
+    private BridgeStaggerTests() {}
+
+    private static final int INTERVAL = 4;
+    // Ticks to let bridges load and join before measuring.
+    private static final int WARMUP_TICKS = 20;
+    // Measured ticks. A multiple of INTERVAL, so every network gets the same number of transfers whatever its phase.
+    private static final int MEASURE_TICKS = 20 * INTERVAL;
+
+    /**
+     * A few separate source -> bridge -> sink lines (each its own network, each with its own phase).
+     * Over the measured ticks every sink gets exactly what a bridge moving energy every tick would have sent.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_stagger", timeoutTicks = WARMUP_TICKS + MEASURE_TICKS + 40)
+    public static void averageRateUnchanged(GameTestHelper helper) {
+        int oldInterval = BridgeConfig.TRANSFER_INTERVAL_TICKS.get();
+        BridgeConfig.TRANSFER_INTERVAL_TICKS.set(INTERVAL);
+
+        List<CreativeEnergyBE> sinks = new ArrayList<>();
+        for (int z = 1; z <= 5; z += 2) {
+            helper.setBlock(new BlockPos(1, 1, z), TestBlocks.CREATIVE_SOURCE.get().defaultBlockState());
+            helper.setBlock(new BlockPos(2, 1, z), ModRegistries.ENERGY_BRIDGE.get().defaultBlockState());
+            helper.setBlock(new BlockPos(3, 1, z), TestBlocks.CREATIVE_SINK.get().defaultBlockState());
+            sinks.add(helper.getBlockEntity(new BlockPos(3, 1, z)));
+        }
+
+        long[] before = new long[sinks.size()];
+        helper.runAtTickTime(WARMUP_TICKS, () -> {
+            for (int i = 0; i < before.length; i++) before[i] = sinks.get(i).getMoved();
+        });
+        helper.runAtTickTime(WARMUP_TICKS + MEASURE_TICKS, () -> {
+            try {
+                // A single bridge with a full buffer of room passes min(in, out) per tick on average.
+                BridgeTier tier = BridgeTier.BASIC;
+                if (tier.capacity() < INTERVAL * Math.max(tier.maxIn(), tier.maxOut())) {
+                    helper.fail("The basic tier's capacity is too small for a " + INTERVAL + "-tick interval");
+                }
+                long expected = MEASURE_TICKS * Math.min(tier.maxIn(), tier.maxOut());
+                for (int i = 0; i < before.length; i++) {
+                    helper.assertValueEqual(sinks.get(i).getMoved() - before[i], expected, "FE into sink " + i);
+                }
+            } finally {
+                BridgeConfig.TRANSFER_INTERVAL_TICKS.set(oldInterval);
+            }
+            helper.succeed();
+        });
+    }
+}
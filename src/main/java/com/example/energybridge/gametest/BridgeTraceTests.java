@@ -0,0 +1,104 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeTrace;
+import com.example.energybridge.registry.ModRegistries;
+import com.example.energybridge.trace.TraceFormat;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * =====================================
+ * BridgeTraceTests.java (GameTests)
+ * -------------------------------------
+ * The transfer trace (BridgeTrace): a bridge's pull phase ends up in the ring
+ * file with its endpoint record right behind it, in the TraceFormat layout
+ * the offline TraceReport tool reads.
+ *
+ * Has its own batch, because it changes server config values while it runs.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeTraceTests {
+    private BridgeTraceTests() {}
+
+    private static final int CHECK_AT = 20;
+
+    /**
+     * source -> bridge -> sink along x: the trace holds pull phases of that bridge, each followed by its endpoint
+     * records: the west face gave energy, no face moved more than it offered.
+     */
+    @GameTest(template = "empty_8", batch = "energybridge_trace", timeoutTicks = CHECK_AT + 20)
+    public static void pullsAreRecorded(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        boolean oldEnabled = BridgeConfig.TRACE_ENABLED.get();
+        BridgeTrace.setEnabled(level.getServer(), true);
+
+        BlockPos bridgePos = new BlockPos(2, 1, 1);
+        helper.setBlock(new BlockPos(1, 1, 1), TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridgePos, ModRegistries.ENERGY_BRIDGE.get());
+        helper.setBlock(new BlockPos(3, 1, 1), TestBlocks.CREATIVE_SINK.get());
+        long network = helper.absolutePos(bridgePos).asLong();
+
+        helper.runAtTickTime(CHECK_AT, () -> {
+            long written = BridgeTrace.written(level);
+            BridgeTrace.setEnabled(level.getServer(), false); // Closes the file: everything is on disk.
+            BridgeTrace.setEnabled(level.getServer(), oldEnabled);
+            if (written == 0) {
+                helper.fail("Nothing was recorded");
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(BridgeTrace.file(level), StandardOpenOption.READ)) {
+                MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                long capacity = file.getLong(TraceFormat.H_CAPACITY);
+                helper.assertValueEqual(file.getLong(TraceFormat.H_WRITTEN), written, "records in the file header");
+                int pulls = 0;
+                for (long n = Math.max(0, written - capacity); n < written; n++) {
+                    int at = offset(n, capacity);
+                    if (file.get(at + TraceFormat.R_KIND) != TraceFormat.PULL || file.getLong(at + TraceFormat.R_NETWORK) != network) {
+                        continue;
+                    }
+                    pulls++;
+                    // The sink is asked too (it takes nothing), so look for the source among the phase's endpoints.
+                    int slots = file.getInt(at + TraceFormat.R_ENDPOINTS);
+                    long total = 0;
+                    boolean west = false;
+                    for (long e = n + 1; e < written; e++) {
+                        int endpoint = offset(e, capacity);
+                        if (file.get(endpoint + TraceFormat.R_KIND) != TraceFormat.PULL_ENDPOINT) break;
+                        int slot = file.getInt(endpoint + TraceFormat.R_SLOT);
+                        if (slot < 0 || slot >= slots) helper.fail("Endpoint slot " + slot + " of " + slots);
+                        long offered = file.getLong(endpoint + TraceFormat.R_REQUESTED);
+                        long moved = file.getLong(endpoint + TraceFormat.R_TRANSFERRED);
+                        if (moved > offered) helper.fail("Endpoint moved " + moved + " FE of " + offered + " FE offered");
+                        total += moved;
+                        if (file.get(endpoint + TraceFormat.R_SIDE) == Direction.WEST.ordinal()) west |= moved > 0;
+                    }
+                    if (!west) helper.fail("The pull took nothing from the west face");
+                    helper.assertValueEqual(file.getLong(at + TraceFormat.R_AFTER) - file.getLong(at + TraceFormat.R_BEFORE),
+                            total, "buffer change of the pull");
+                }
+                if (pulls == 0) helper.fail("No pull phase of the bridge in the trace");
+            } catch (IOException e) {
+                helper.fail("Could not read the trace: " + e);
+            }
+            helper.succeed();
+        });
+    }
+
+    private static int offset(long n, long capacity) {
+        return TraceFormat.HEADER_BYTES + (int) (n % capacity) * TraceFormat.RECORD_BYTES;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.BridgeConfig;
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.content.EnergyBridgeBlock;
+import com.example.energybridge.registry.ModRegistries;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.level.block.Blocks;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * =====================================
+ * BridgeVisualTests.java (GameTests)
+ * -------------------------------------
+ * The active glow: it is sent to clients in the per-chunk sync and drawn there,
+ * so moving energy never changes the block state (with the default config).
+ * On the server, EnergyBridgeBE.isActive() is what clients were last told.
+ * =====================================
+ */
+@GameTestHolder(EnergyBridgeMod.MODID)
+@PrefixGameTestTemplate(false)
+public final class BridgeVisualTests {
+    private BridgeVisualTests() {}
+
+    private static final int RUN_TICKS = 30;
+
+    /**
+     * A working bridge is reported active without LIT; once its source is gone it goes back to inactive.
+     */
+    @GameTest(template = "empty_8", timeoutTicks = 200)
+    public static void glowIsSyncedNotBlockState(GameTestHelper helper) {
+        BlockPos source = new BlockPos(1, 1, 1);
+        BlockPos bridge = new BlockPos(2, 1, 1);
+        helper.setBlock(source, TestBlocks.CREATIVE_SOURCE.get());
+        helper.setBlock(bridge, ModRegistries.ENERGY_BRIDGE.get());
+        helper.setBlock(new BlockPos(3, 1, 1), TestBlocks.CREATIVE_SINK.get());
+        EnergyBridgeBE be = helper.getBlockEntity(bridge);
+
+        // Off again after the hold time without IO, plus up to one sync interval before clients hear of it.
+        int offDelay = BridgeConfig.ACTIVE_HOLD_TICKS.get() + BridgeConfig.SYNC_INTERVAL_TICKS.get() + 5;
+        helper.runAtTickTime(RUN_TICKS, () -> {
+            if (!be.isActive()) helper.fail("A bridge moving energy isn't reported active");
+            if (be.getBlockState().getValue(EnergyBridgeBlock.LIT)) helper.fail("Moving energy changed the block state");
+            helper.setBlock(source, Blocks.AIR);
+        });
+        helper.runAtTickTime(RUN_TICKS + offDelay, () -> {
+            if (be.isActive()) helper.fail("An idle bridge is still reported active");
+            if (be.getBlockState().getValue(EnergyBridgeBlock.LIT)) helper.fail("The block state changed");
+            helper.succeed();
+        });
+    }
+}
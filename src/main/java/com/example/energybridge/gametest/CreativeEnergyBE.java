@@ -0,0 +1,94 @@
+package com.example.energybridge.gametest;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * =====================================
+ * CreativeEnergyBE.java (test only)
+ * -------------------------------------
+ * Block entity of the creative source/sink test blocks. It never runs out
+ * and never fills up, and counts every FE that really moved (simulated calls
+ * don't count), so a test can check that the FE totals balance:
+ *
+ *   FE taken from sources == FE given to sinks + FE still stored in bridges
+ *
+ * A test can also make it refuse everything (like a full battery or an empty
+ * generator), or give only half of what it promised, and count how often it
+ * was asked.
+ * =====================================
+ */
+public class CreativeEnergyBE extends BlockEntity {
+    // Total FE that really left (source) or arrived (sink) through this block.
+    private long moved = 0;
+    // Calls to receiveEnergy/extractEnergy, simulated or not.
+    private long asked = 0;
+    // While true, every call gets 0.
+    private boolean refusing = false;
+    // While true, real calls move half of what the simulated ones promise.
+    private boolean shortchanging = false;
+
+    private final IEnergyStorage handler;
+
+    public CreativeEnergyBE(BlockPos pos, BlockState state) {
+        super(TestBlocks.CREATIVE_ENERGY_BE.get(), pos, state);
+        boolean source = state.getBlock() instanceof CreativeEnergyBlock block && block.isSource();
+        this.handler = new IEnergyStorage() {
+            @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+                asked++;
+                if (source || refusing || maxReceive <= 0) return 0;
+                int amount = simulate || !shortchanging ? maxReceive : maxReceive / 2;
+                if (!simulate) moved += amount;
+                return amount;
+            }
+            @Override public int extractEnergy(int maxExtract, boolean simulate) {
+                asked++;
+                if (!source || refusing || maxExtract <= 0) return 0;
+                int amount = simulate || !shortchanging ? maxExtract : maxExtract / 2;
+                if (!simulate) moved += amount;
+                return amount;
+            }
+            @Override public int getEnergyStored() { return source ? Integer.MAX_VALUE : 0; }
+            @Override public int getMaxEnergyStored() { return Integer.MAX_VALUE; }
+            @Override public boolean canExtract() { return source; }
+            @Override public boolean canReceive() { return !source; }
+        };
+    }
+
+    /**
+     * @return the same handler on every side.
+     */
+    public IEnergyStorage getEnergy() {
+        return handler;
+    }
+
+    /**
+     * @return total FE that really moved through this block.
+     */
+    public long getMoved() {
+        return moved;
+    }
+
+    /**
+     * @return how many times a neighbor asked us to give or take energy (simulated calls included).
+     */
+    public long getAsked() {
+        return asked;
+    }
+
+    /**
+     * Refuse (or accept again) every transfer, like a full sink or an empty source. Sends no block update.
+     */
+    public void setRefusing(boolean refusing) {
+        this.refusing = refusing;
+    }
+
+    /**
+     * Give (or take) only half of what a simulated call promised, like a machine whose state changes in between.
+     */
+    public void setShortchanging(boolean shortchanging) {
+        this.shortchanging = shortchanging;
+    }
+}
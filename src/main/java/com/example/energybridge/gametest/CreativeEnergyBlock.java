@@ -0,0 +1,55 @@
+package com.example.energybridge.gametest;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.MapCodec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.RenderShape;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * =====================================
+ * CreativeEnergyBlock.java (test only)
+ * -------------------------------------
+ * A stand-in for a generator (source) or a machine (sink) with unlimited
+ * energy or unlimited appetite. Only registered when GameTests are enabled
+ * (see TestBlocks), so players never see it.
+ * =====================================
+ */
+public class CreativeEnergyBlock extends BaseEntityBlock {
+    public static final MapCodec<CreativeEnergyBlock> CODEC = RecordCodecBuilder.mapCodec(instance -> instance.group(
+            Codec.BOOL.fieldOf("source").forGetter(CreativeEnergyBlock::isSource),
+            propertiesCodec()
+    ).apply(instance, CreativeEnergyBlock::new));
+
+    // true = gives energy (source), false = takes energy (sink).
+    private final boolean source;
+
+    public CreativeEnergyBlock(boolean source, Properties props) {
+        super(props);
+        this.source = source;
+    }
+
+    /**
+     * @return true for the source block, false for the sink block.
+     */
+    public boolean isSource() {
+        return source;
+    }
+
+    @Override
+    public RenderShape getRenderShape(BlockState state) { return RenderShape.MODEL; }
+
+    @Nullable @Override
+    public BlockEntity newBlockEntity(BlockPos pos, BlockState state) {
+        return new CreativeEnergyBE(pos, state);
+    }
+
+    @Override
+    protected MapCodec<? extends BaseEntityBlock> codec() {
+        return CODEC;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.EnergyBridgeMod;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+/**
+ * =================================
+ * TestBlocks.java (test only)
+ * ---------------------------------
+ * Registers the creative source and sink blocks used by the GameTests, and a
+ * bridge without a ticker for tests that tick bridges themselves.
+ * EnergyBridgeMod only calls register() when GameTests are enabled
+ * (GameTestHooks.isGametestEnabled(): dev runs with the gameTestServer run or
+ * -Dneoforge.enableGameTest=true), so normal games never contain these blocks.
+ * =================================
+ */
+public final class TestBlocks {
+    private TestBlocks() {}
+
+    public static final DeferredRegister<Block> BLOCKS = DeferredRegister.create(Registries.BLOCK, EnergyBridgeMod.MODID);
+    public static final DeferredRegister<BlockEntityType<?>> BLOCK_ENTITIES =
+            DeferredRegister.create(Registries.BLOCK_ENTITY_TYPE, EnergyBridgeMod.MODID);
+
+    // Unlimited energy out ("energybridge:test_creative_source").
+    public static final DeferredHolder<Block, CreativeEnergyBlock> CREATIVE_SOURCE =
+            BLOCKS.register("test_creative_source", () -> new CreativeEnergyBlock(true, Block.Properties.of()));
+    // Unlimited energy in ("energybridge:test_creative_sink").
+    public static final DeferredHolder<Block, CreativeEnergyBlock> CREATIVE_SINK =
+            BLOCKS.register("test_creative_sink", () -> new CreativeEnergyBlock(false, Block.Properties.of()));
+    // A basic bridge that is never ticked by the game ("energybridge:test_unticked_bridge").
+    // Uses the normal bridge block entity type; 1.21.1 doesn't check a block entity's block against its type.
+    public static final DeferredHolder<Block, UntickedBridgeBlock> UNTICKED_BRIDGE =
+            BLOCKS.register("test_unticked_bridge", () -> new UntickedBridgeBlock(Block.Properties.of()));
+
+    public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<CreativeEnergyBE>> CREATIVE_ENERGY_BE =
+            BLOCK_ENTITIES.register("test_creative_energy",
+                    () -> BlockEntityType.Builder.of(CreativeEnergyBE::new, CREATIVE_SOURCE.get(), CREATIVE_SINK.get()).build(null));
+
+    /**
+     * Hook the test registers and their capability into the mod event bus.
+     * @param bus Provided by the mod entrypoint.
+     */
+    public static void register(IEventBus bus) {
+        BLOCKS.register(bus);
+        BLOCK_ENTITIES.register(bus);
+        bus.addListener(TestBlocks::onRegisterCapabilities);
+    }
+
+    private static void onRegisterCapabilities(RegisterCapabilitiesEvent event) {
+        event.registerBlockEntity(Capabilities.EnergyStorage.BLOCK, CREATIVE_ENERGY_BE.get(),
+                (CreativeEnergyBE be, Direction side) -> be.getEnergy());
+    }
+}
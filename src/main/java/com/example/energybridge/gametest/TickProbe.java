@@ -0,0 +1,81 @@
+package com.example.energybridge.gametest;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.server.level.ServerLevel;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.Arrays;
+
+/**
+ * =====================================
+ * TickProbe.java (test only)
+ * -------------------------------------
+ * Measures how long each tick of one world takes (from LevelTickEvent.Pre to
+ * LevelTickEvent.Post), which includes every block entity ticker and the
+ * bridge schedulers. A load test attaches a probe after its warm-up, lets the
+ * bridges run, then detaches it and checks the average and p99 against a budget.
+ *
+ * Only exists while a test uses it, so nothing is measured in normal games.
+ * =====================================
+ */
+final class TickProbe {
+    private final ServerLevel level;
+    private final LongArrayList samples = new LongArrayList();
+    private long tickStart = -1;
+
+    private TickProbe(ServerLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Start measuring the ticks of this world.
+     */
+    static TickProbe attach(ServerLevel level) {
+        TickProbe probe = new TickProbe(level);
+        NeoForge.EVENT_BUS.register(probe);
+        return probe;
+    }
+
+    /**
+     * Stop measuring. The samples taken so far stay available.
+     */
+    void detach() {
+        NeoForge.EVENT_BUS.unregister(this);
+    }
+
+    @SubscribeEvent
+    public void onTickStart(LevelTickEvent.Pre event) {
+        if (event.getLevel() == level) tickStart = System.nanoTime();
+    }
+
+    @SubscribeEvent
+    public void onTickEnd(LevelTickEvent.Post event) {
+        if (event.getLevel() != level || tickStart < 0) return;
+        samples.add(System.nanoTime() - tickStart);
+        tickStart = -1;
+    }
+
+    /** @return how many ticks were measured. */
+    int count() {
+        return samples.size();
+    }
+
+    /** @return the average tick time in milliseconds. */
+    double averageMs() {
+        if (samples.isEmpty()) return 0;
+        long total = 0;
+        for (int i = 0; i < samples.size(); i++) total += samples.getLong(i);
+        return total / 1_000_000.0 / samples.size();
+    }
+
+    /** @return the tick time (ms) that 99% of the measured ticks stayed at or under. */
+    double p99Ms() {
+        if (samples.isEmpty()) return 0;
+        long[] sorted = samples.toLongArray();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(sorted.length * 0.99) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
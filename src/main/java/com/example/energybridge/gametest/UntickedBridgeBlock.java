@@ -0,0 +1,41 @@
+package com.example.energybridge.gametest;
+
+import com.example.energybridge.content.BridgeTier;
+import com.example.energybridge.content.EnergyBridgeBlock;
+import com.mojang.serialization.MapCodec;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.BaseEntityBlock;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityTicker;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.minecraft.world.level.block.state.BlockState;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * =====================================
+ * UntickedBridgeBlock.java (test only)
+ * -------------------------------------
+ * A basic bridge that never gets a ticker, whatever the scheduler mode.
+ * Its block entity, capabilities and network code are the real ones, so a
+ * test can call EnergyBridgeBE.serverTick itself and be sure nothing else
+ * ticks these bridges in between. Only registered when GameTests are enabled
+ * (see TestBlocks), so players never see it.
+ * =====================================
+ */
+public class UntickedBridgeBlock extends EnergyBridgeBlock {
+    public static final MapCodec<UntickedBridgeBlock> CODEC = simpleCodec(UntickedBridgeBlock::new);
+
+    public UntickedBridgeBlock(Properties props) {
+        super(BridgeTier.BASIC, props);
+    }
+
+    @Nullable @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(Level level, BlockState state, BlockEntityType<T> type) {
+        return null; // The test ticks these bridges.
+    }
+
+    @Override
+    protected MapCodec<? extends BaseEntityBlock> codec() {
+        return CODEC;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.energybridge.network;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.BridgeInspection;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * =====================================
+ * BridgeInspectPayload.java
+ * -------------------------------------
+ * Client -> server: "my player now looks at this bridge" (pos), or "at no
+ * bridge any more" (pos == null). Sent only when the target changes, so
+ * staring at a bridge costs one packet, not one per tick.
+ *
+ * The server answers with BridgeStatsPayload updates until the next one of
+ * these (see BridgeInspection).
+ * =====================================
+ */
+public record BridgeInspectPayload(@Nullable BlockPos pos) implements CustomPacketPayload {
+    public static final Type<BridgeInspectPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(EnergyBridgeMod.MODID, "bridge_inspect"));
+
+    // How the payload is written to / read from the network buffer.
+    public static final StreamCodec<FriendlyByteBuf, BridgeInspectPayload> STREAM_CODEC =
+            CustomPacketPayload.codec(BridgeInspectPayload::write, BridgeInspectPayload::read);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeBoolean(pos != null);
+        if (pos != null) buf.writeBlockPos(pos);
+    }
+
+    private static BridgeInspectPayload read(FriendlyByteBuf buf) {
+        return new BridgeInspectPayload(buf.readBoolean() ? buf.readBlockPos() : null);
+    }
+
+    /**
+     * Server side: replace the player's subscription (BridgeInspection checks reach and the block).
+     */
+    public static void handle(BridgeInspectPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            if (context.player() instanceof ServerPlayer player) BridgeInspection.subscribe(player, payload.pos());
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.energybridge.network;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.client.BridgeInspectClient;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * =====================================
+ * BridgeStatsPayload.java
+ * -------------------------------------
+ * Server -> one client: live stats of the bridge its player looks at
+ * (see BridgeInspection), shown by the HUD (BridgeInspectHud).
+ *  - energy and capacity of that bridge
+ *  - rates: FE/t in through each side (index = Direction.ordinal()), then
+ *    FE/t out through each side (index = 6 + Direction.ordinal())
+ *
+ * Numbers are written as "varlongs", so a bridge with idle sides takes a few
+ * bytes per packet.
+ * =====================================
+ */
+public record BridgeStatsPayload(BlockPos pos, long energy, long capacity, long[] rates) implements CustomPacketPayload {
+    public static final Type<BridgeStatsPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(EnergyBridgeMod.MODID, "bridge_stats"));
+
+    // How the payload is written to / read from the network buffer.
+    public static final StreamCodec<FriendlyByteBuf, BridgeStatsPayload> STREAM_CODEC =
+            CustomPacketPayload.codec(BridgeStatsPayload::write, BridgeStatsPayload::read);
+
+    // Two rates (in, out) per side.
+    private static final int RATES = Direction.values().length * 2;
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * @return FE/t that came in through this side.
+     */
+    public long in(Direction side) {
+        return rates[side.ordinal()];
+    }
+
+    /**
+     * @return FE/t that went out through this side.
+     */
+    public long out(Direction side) {
+        return rates[RATES / 2 + side.ordinal()];
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeBlockPos(pos);
+        buf.writeVarLong(energy);
+        buf.writeVarLong(capacity);
+        for (int i = 0; i < RATES; i++) buf.writeVarLong(rates[i]);
+    }
+
+    private static BridgeStatsPayload read(FriendlyByteBuf buf) {
+        BlockPos pos = buf.readBlockPos();
+        long energy = buf.readVarLong();
+        long capacity = buf.readVarLong();
+        long[] rates = new long[RATES];
+        for (int i = 0; i < RATES; i++) rates[i] = buf.readVarLong();
+        return new BridgeStatsPayload(pos, energy, capacity, rates);
+    }
+
+    /**
+     * Client side: keep the numbers for the HUD (ignored if the player already looks somewhere else).
+     */
+    public static void handle(BridgeStatsPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> BridgeInspectClient.onStats(payload));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.energybridge.network;
+
+import com.example.energybridge.EnergyBridgeMod;
+import com.example.energybridge.content.EnergyBridgeBE;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+
+/**
+ * =====================================
+ * BridgeSyncPayload.java
+ * -------------------------------------
+ * One small packet that updates the active state (the glow) of every changed bridge in ONE chunk.
+ *
+ * Instead of sending a whole NBT block entity packet per bridge, the server
+ * collects all bridges in a chunk whose state changed, and sends:
+ *  - the chunk position (once)
+ *  - per bridge: its position inside the chunk, with the active flag in bit 0,
+ *    as a "varint" (small numbers take 1-3 bytes)
+ *
+ * Energy is not in here: clients only get it while looking at a bridge (BridgeStatsPayload).
+ * =====================================
+ */
+public record BridgeSyncPayload(long chunk, int[] positions, boolean[] active) implements CustomPacketPayload {
+    public static final Type<BridgeSyncPayload> TYPE =
+            new Type<>(ResourceLocation.fromNamespaceAndPath(EnergyBridgeMod.MODID, "bridge_sync"));
+
+    // How the payload is written to / read from the network buffer.
+    public static final StreamCodec<FriendlyByteBuf, BridgeSyncPayload> STREAM_CODEC =
+            CustomPacketPayload.codec(BridgeSyncPayload::write, BridgeSyncPayload::read);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Pack a block position into one small number relative to its chunk:
+     * bits 0-3 = x, bits 4-7 = z, bits 8+ = height above the world bottom.
+     */
+    public static int localIndex(Level level, BlockPos pos) {
+        return ((pos.getY() - level.getMinBuildHeight()) << 8) | ((pos.getZ() & 15) << 4) | (pos.getX() & 15);
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeLong(chunk);
+        buf.writeVarInt(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            buf.writeVarInt(positions[i] << 1 | (active[i] ? 1 : 0));
+        }
+    }
+
+    private static BridgeSyncPayload read(FriendlyByteBuf buf) {
+        long chunk = buf.readLong();
+        int count = buf.readVarInt();
+        int[] positions = new int[count];
+        boolean[] active = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            int position = buf.readVarInt();
+            positions[i] = position >>> 1;
+            active[i] = (position & 1) != 0;
+        }
+        return new BridgeSyncPayload(chunk, positions, active);
+    }
+
+    /**
+     * Client side: apply every change in this packet to the matching bridge.
+     */
+    public static void handle(BridgeSyncPayload payload, IPayloadContext context) {
+        context.enqueueWork(() -> {
+            Level level = context.player().level();
+            ChunkPos chunk = new ChunkPos(payload.chunk());
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int i = 0; i < payload.positions().length; i++) {
+                int local = payload.positions()[i];
+                pos.set(chunk.getMinBlockX() + (local & 15),
+                        level.getMinBuildHeight() + (local >> 8),
+                        chunk.getMinBlockZ() + ((local >> 4) & 15));
+                if (level.getBlockEntity(pos) instanceof EnergyBridgeBE be) {
+                    be.applySync(payload.active()[i]);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.energybridge.network;
+
+import com.example.energybridge.EnergyBridgeMod;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+
+/**
+ * =====================================
+ * ModNetwork.java
+ * -------------------------------------
+ * Registers our custom network packets ("payloads") with NeoForge.
+ * Every payload needs a type id, a codec (how to write/read it) and a handler
+ * (what to do when it arrives).
+ * =====================================
+ */
+@EventBusSubscriber(modid = EnergyBridgeMod.MODID, bus = EventBusSubscriber.Bus.MOD)
+public final class ModNetwork {
+    private ModNetwork() {}
+
+    // Bump this when a payload's format changes, so mismatched client/server versions refuse to connect.
+    private static final String PROTOCOL_VERSION = "4";
+
+    @SubscribeEvent
+    public static void onRegisterPayloads(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+        // Server -> client: coalesced active-state changes for one chunk.
+        registrar.playToClient(BridgeSyncPayload.TYPE, BridgeSyncPayload.STREAM_CODEC, BridgeSyncPayload::handle);
+        // Client -> server: which bridge the player looks at (or none).
+        registrar.playToServer(BridgeInspectPayload.TYPE, BridgeInspectPayload.STREAM_CODEC, BridgeInspectPayload::handle);
+        // Server -> that client: live stats of the bridge it looks at.
+        registrar.playToClient(BridgeStatsPayload.TYPE, BridgeStatsPayload.STREAM_CODEC, BridgeStatsPayload::handle);
+    }
+}
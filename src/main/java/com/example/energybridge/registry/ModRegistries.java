@@ -2,6 +2,7 @@ package com.example.energybridge.registry;
 
 import com.example.energybridge.EnergyBridgeMod;
 import com.example.energybridge.content.EnergyBridgeBE;
+import com.example.energybridge.content.BridgeTier;
 import com.example.energybridge.content.EnergyBridgeBlock;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.world.item.BlockItem;
@@ -17,7 +18,7 @@ import net.neoforged.neoforge.registries.DeferredRegister;
  * ModRegistries.java
  * ---------------------------------
  * This file centralizes registration of game objects:
- *  - The Block you place in the world
+ *  - The Block you place in the world (one per BridgeTier)
  *  - The Item you hold/place (BlockItem wraps the Block)
  *  - The BlockEntityType (the logic container for the block)
  *
@@ -39,17 +40,36 @@ public final class ModRegistries {
 
     // Register our Energy Bridge block. The string is its registry name ("energybridge:energy_bridge").
     public static final DeferredHolder<Block, EnergyBridgeBlock> ENERGY_BRIDGE =
-            BLOCKS.register("energy_bridge", () -> new EnergyBridgeBlock(Block.Properties.of()));
+            BLOCKS.register("energy_bridge", () -> new EnergyBridgeBlock(BridgeTier.BASIC, Block.Properties.of()));
+    // Higher tiers: same block, much larger buffer and rates. One of these replaces many basic bridges.
+    public static final DeferredHolder<Block, EnergyBridgeBlock> ADVANCED_ENERGY_BRIDGE =
+            BLOCKS.register("advanced_energy_bridge", () -> new EnergyBridgeBlock(BridgeTier.ADVANCED, Block.Properties.of()));
+    public static final DeferredHolder<Block, EnergyBridgeBlock> ELITE_ENERGY_BRIDGE =
+            BLOCKS.register("elite_energy_bridge", () -> new EnergyBridgeBlock(BridgeTier.ELITE, Block.Properties.of()));
+    public static final DeferredHolder<Block, EnergyBridgeBlock> ULTIMATE_ENERGY_BRIDGE =
+            BLOCKS.register("ultimate_energy_bridge", () -> new EnergyBridgeBlock(BridgeTier.ULTIMATE, Block.Properties.of()));
 
-    // Register the item form of the block so you can hold/place it.
+    // Register the item form of each block so you can hold/place it.
     public static final DeferredHolder<Item, BlockItem> ENERGY_BRIDGE_ITEM = ITEMS.register(
             "energy_bridge", () -> new BlockItem(ENERGY_BRIDGE.get(), new Item.Properties())
     );
+    public static final DeferredHolder<Item, BlockItem> ADVANCED_ENERGY_BRIDGE_ITEM = ITEMS.register(
+            "advanced_energy_bridge", () -> new BlockItem(ADVANCED_ENERGY_BRIDGE.get(), new Item.Properties())
+    );
+    public static final DeferredHolder<Item, BlockItem> ELITE_ENERGY_BRIDGE_ITEM = ITEMS.register(
+            "elite_energy_bridge", () -> new BlockItem(ELITE_ENERGY_BRIDGE.get(), new Item.Properties())
+    );
+    public static final DeferredHolder<Item, BlockItem> ULTIMATE_ENERGY_BRIDGE_ITEM = ITEMS.register(
+            "ultimate_energy_bridge", () -> new BlockItem(ULTIMATE_ENERGY_BRIDGE.get(), new Item.Properties())
+    );
 
-    // Register the "type" of block entity. This tells Minecraft which block uses which logic class (EnergyBridgeBE).
+    // Register the "type" of block entity. This tells Minecraft which blocks use which logic class (EnergyBridgeBE).
+    // All tiers share one type; the block entity reads its tier from its block.
     public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<EnergyBridgeBE>> ENERGY_BRIDGE_BE =
             BLOCK_ENTITIES.register("energy_bridge",
-                    () -> BlockEntityType.Builder.of(EnergyBridgeBE::new, ENERGY_BRIDGE.get()).build(null));
+                    () -> BlockEntityType.Builder.of(EnergyBridgeBE::new,
+                            ENERGY_BRIDGE.get(), ADVANCED_ENERGY_BRIDGE.get(),
+                            ELITE_ENERGY_BRIDGE.get(), ULTIMATE_ENERGY_BRIDGE.get()).build(null));
 
     /**
      * Hook all of our registers into the mod event bus.
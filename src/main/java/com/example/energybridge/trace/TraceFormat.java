@@ -0,0 +1,93 @@
+package com.example.energybridge.trace;
+
+/**
+ * =====================================
+ * TraceFormat.java
+ * -------------------------------------
+ * The layout of a transfer trace file (written by TraceRing, read by the
+ * offline TraceReport tool in src/tracetool). No Minecraft code, so the tool
+ * can use it outside the game.
+ *
+ * The file is a 64-byte header followed by a ring of fixed-size 64-byte
+ * records; record n (counting from 0 since the file was created) is at
+ * HEADER_BYTES + (n % capacity) * RECORD_BYTES. All numbers big-endian.
+ *
+ * Header:
+ *   0  int  MAGIC
+ *   4  int  VERSION
+ *   8  int  RECORD_BYTES
+ *   16 long capacity (records in the ring)
+ *   24 long written (records written so far; the newest is written - 1)
+ *
+ * Record (one per decision of a network tick):
+ *   0  long gameTime
+ *   8  long network      first member's BlockPos.asLong(), names the network
+ *   16 long pos          endpoint, LIT: the member's BlockPos.asLong(); PULL/PUSH: the rounding rotation
+ *   24 long requested    endpoint: what it offered (simulated); PULL/PUSH: the budget
+ *   32 long transferred  endpoint: what really moved; PULL/PUSH: the total; LIT/ACTIVE: the new state (0/1)
+ *   40 long bufferBefore the network's energy before the phase
+ *   48 long bufferAfter  and after it
+ *   56 byte kind         see below
+ *   57 byte side         Direction.ordinal() of the endpoint face, or -1
+ *   58 byte mode         FaceMode.ordinal() of that face, or -1
+ *   60 int  endpoints    PULL/PUSH: the network's endpoint slots (asked or not, as the planner saw them);
+ *                        endpoint: its slot index (see R_SLOT)
+ *
+ * A PULL/PUSH record is directly followed by one endpoint record per endpoint
+ * that was asked. Endpoints that were not asked (wrong face mode, backing
+ * off) have no record, but still count as slots offering 0: the rounding
+ * leftover of TransferPlanner starts at rotation % slots.
+ * =====================================
+ */
+public final class TraceFormat {
+    private TraceFormat() {}
+
+    public static final int MAGIC = 0x45425452; // "EBTR"
+    public static final int VERSION = 2;
+    public static final int HEADER_BYTES = 64;
+    public static final int RECORD_BYTES = 64;
+
+    // Header offsets.
+    public static final int H_MAGIC = 0;
+    public static final int H_VERSION = 4;
+    public static final int H_RECORD_BYTES = 8;
+    public static final int H_CAPACITY = 16;
+    public static final int H_WRITTEN = 24;
+
+    // Record offsets.
+    public static final int R_TIME = 0;
+    public static final int R_NETWORK = 8;
+    public static final int R_POS = 16;
+    public static final int R_REQUESTED = 24;
+    public static final int R_TRANSFERRED = 32;
+    public static final int R_BEFORE = 40;
+    public static final int R_AFTER = 48;
+    public static final int R_KIND = 56;
+    public static final int R_SIDE = 57;
+    public static final int R_MODE = 58;
+    public static final int R_ENDPOINTS = 60;
+    public static final int R_SLOT = 60;        // Same field, in endpoint records.
+
+    // Record kinds.
+    public static final byte PULL = 1;          // A pull phase, followed by its PULL_ENDPOINT records.
+    public static final byte PUSH = 2;          // A push phase, followed by its PUSH_ENDPOINT records.
+    public static final byte PULL_ENDPOINT = 3;
+    public static final byte PUSH_ENDPOINT = 4;
+    public static final byte LIT = 5;           // A member's LIT block state was set (one block update).
+    public static final byte ACTIVE = 6;        // The network's active state changed (a sync to clients is queued).
+
+    /**
+     * @return a short name for a record kind (for reports).
+     */
+    public static String kindName(int kind) {
+        return switch (kind) {
+            case PULL -> "pull";
+            case PUSH -> "push";
+            case PULL_ENDPOINT -> "pull endpoint";
+            case PUSH_ENDPOINT -> "push endpoint";
+            case LIT -> "lit";
+            case ACTIVE -> "active";
+            default -> "unknown(" + kind + ")";
+        };
+    }
+}
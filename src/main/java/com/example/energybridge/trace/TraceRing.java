@@ -0,0 +1,107 @@
+package com.example.energybridge.trace;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * =====================================
+ * TraceRing.java
+ * -------------------------------------
+ * Writes fixed-size trace records (see TraceFormat) into a memory-mapped
+ * ring file. Writing a record is a few absolute puts into the mapping: no
+ * allocation, no system call. The operating system writes the pages to
+ * disk on its own, so the newest records survive even a crashed server.
+ * When the ring is full, the oldest records are overwritten.
+ *
+ * Opening an existing file of the same format and size continues after its
+ * newest record, so a trace can span restarts. Not thread-safe: one writer
+ * (the server thread) per file.
+ * =====================================
+ */
+public final class TraceRing implements AutoCloseable {
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long capacity;
+    private long written;
+
+    private TraceRing(FileChannel channel, MappedByteBuffer buffer, long capacity, long written) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.written = written;
+    }
+
+    /**
+     * Open (or create) a ring file.
+     * @param file     Where the ring lives; parent directories are created.
+     * @param capacity How many records it holds (the file is 64 bytes per record plus the header).
+     */
+    public static TraceRing open(Path file, long capacity) throws IOException {
+        long size = TraceFormat.HEADER_BYTES + capacity * TraceFormat.RECORD_BYTES;
+        if (capacity <= 0 || size > Integer.MAX_VALUE) throw new IllegalArgumentException("ring too large: " + capacity);
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean reuse = channel.size() == size;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            long written = 0;
+            if (reuse && buffer.getInt(TraceFormat.H_MAGIC) == TraceFormat.MAGIC
+                    && buffer.getInt(TraceFormat.H_VERSION) == TraceFormat.VERSION
+                    && buffer.getLong(TraceFormat.H_CAPACITY) == capacity) {
+                written = Math.max(0, buffer.getLong(TraceFormat.H_WRITTEN));
+            } else {
+                buffer.putInt(TraceFormat.H_MAGIC, TraceFormat.MAGIC);
+                buffer.putInt(TraceFormat.H_VERSION, TraceFormat.VERSION);
+                buffer.putInt(TraceFormat.H_RECORD_BYTES, TraceFormat.RECORD_BYTES);
+                buffer.putLong(TraceFormat.H_CAPACITY, capacity);
+                buffer.putLong(TraceFormat.H_WRITTEN, 0);
+            }
+            return new TraceRing(channel, buffer, capacity, written);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Append one record (overwriting the oldest when the ring is full). See TraceFormat for the fields.
+     */
+    public void write(long gameTime, long network, long pos, long requested, long transferred, long bufferBefore,
+                      long bufferAfter, byte kind, int side, int mode, int endpoints) {
+        int at = TraceFormat.HEADER_BYTES + (int) (written % capacity) * TraceFormat.RECORD_BYTES;
+        buffer.putLong(at + TraceFormat.R_TIME, gameTime);
+        buffer.putLong(at + TraceFormat.R_NETWORK, network);
+        buffer.putLong(at + TraceFormat.R_POS, pos);
+        buffer.putLong(at + TraceFormat.R_REQUESTED, requested);
+        buffer.putLong(at + TraceFormat.R_TRANSFERRED, transferred);
+        buffer.putLong(at + TraceFormat.R_BEFORE, bufferBefore);
+        buffer.putLong(at + TraceFormat.R_AFTER, bufferAfter);
+        buffer.put(at + TraceFormat.R_KIND, kind);
+        buffer.put(at + TraceFormat.R_SIDE, (byte) side);
+        buffer.put(at + TraceFormat.R_MODE, (byte) mode);
+        buffer.putInt(at + TraceFormat.R_ENDPOINTS, endpoints);
+        // Last, so a reader never counts a half-written record.
+        buffer.putLong(TraceFormat.H_WRITTEN, ++written);
+    }
+
+    /**
+     * @return how many records were written to this file so far (including overwritten ones).
+     */
+    public long written() {
+        return written;
+    }
+
+    /**
+     * Write everything to disk and close the file.
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
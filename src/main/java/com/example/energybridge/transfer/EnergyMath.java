@@ -0,0 +1,76 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * =====================================
+ * EnergyMath.java
+ * -------------------------------------
+ * Small helpers for working with "long" energy amounts.
+ *
+ * Our buffers are longs (big tiers store far more than 2.1 billion FE), but the
+ * Forge Energy API (IEnergyStorage) only speaks "int". These helpers:
+ *  - add/multiply without wrapping around to negative numbers ("saturating")
+ *  - clamp a long to the int range
+ *  - move more than Integer.MAX_VALUE FE by calling the int API in chunks
+ * =====================================
+ */
+public final class EnergyMath {
+    private EnergyMath() {}
+
+    /**
+     * a + b, but stops at Long.MAX_VALUE instead of wrapping around to a negative number.
+     */
+    public static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * a * b for non-negative values, but stops at Long.MAX_VALUE instead of overflowing.
+     */
+    public static long saturatedMultiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return high != 0 || low < 0 ? Long.MAX_VALUE : low;
+    }
+
+    /**
+     * @return the value, or Integer.MAX_VALUE if it doesn't fit in an int (never negative).
+     */
+    public static int clampToInt(long value) {
+        return (int) Math.max(0, Math.min(value, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Give up to {@code amount} FE to a neighbor, in int-sized chunks if needed.
+     * Stops as soon as the neighbor takes less than it was offered.
+     * @return how much the neighbor actually took.
+     */
+    public static long receiveChunked(IEnergyStorage target, long amount) {
+        long moved = 0;
+        while (moved < amount) {
+            int ask = clampToInt(amount - moved);
+            int took = target.receiveEnergy(ask, false);
+            moved += Math.max(0, took);
+            if (took < ask) break;
+        }
+        return moved;
+    }
+
+    /**
+     * Take up to {@code amount} FE from a neighbor, in int-sized chunks if needed.
+     * Stops as soon as the neighbor gives less than it was asked for.
+     * @return how much the neighbor actually gave.
+     */
+    public static long extractChunked(IEnergyStorage source, long amount) {
+        long moved = 0;
+        while (moved < amount) {
+            int ask = clampToInt(amount - moved);
+            int gave = source.extractEnergy(ask, false);
+            moved += Math.max(0, gave);
+            if (gave < ask) break;
+        }
+        return moved;
+    }
+}
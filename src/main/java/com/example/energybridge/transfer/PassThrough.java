@@ -0,0 +1,93 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+/**
+ * =====================================
+ * PassThrough.java
+ * -------------------------------------
+ * The receiving side of pass-through mode, without any world in sight: when
+ * a neighbor inserts energy, forward as much as the outputs take right now
+ * (TransferEngine.forward), within the same call, and buffer only the rest.
+ *
+ * One per buffer (BridgeNetwork, or a link in the benchmarks). It keeps:
+ *  - busy: the owner is ticking or already forwarding. Energy inserted then
+ *    (e.g. through a loop of bridges leading back to us) is only buffered,
+ *    and the engine's scratch arrays are left alone.
+ *  - a rounding rotation that advances per call, since several inserts can
+ *    come in one tick.
+ * and, shared by all buffers, how deep the forwarding currently goes.
+ *
+ * The buffer itself stays with the owner: receive() says how much was taken,
+ * forwarded() how much of that went straight on; the rest is the owner's to
+ * add. Server thread only.
+ * =====================================
+ */
+public final class PassThrough {
+    // Buffers forwarding into each other right now (a chain of networks of different tiers).
+    // Past the limit, inserted energy is only buffered, so long chains can't overflow the stack.
+    public static final int MAX_DEPTH = 16;
+    private static int depth = 0;
+
+    private boolean busy = false;
+    private long rotation = 0;
+    // What the last receive() forwarded; the rest of what it took is for the owner's buffer.
+    private long forwarded = 0;
+
+    /**
+     * @return true while the owner ticks or forwards.
+     */
+    public boolean busy() {
+        return busy;
+    }
+
+    /**
+     * The owner starts (true) or ends (false) its own tick: inserts in between are only buffered.
+     */
+    public void setBusy(boolean busy) {
+        this.busy = busy;
+    }
+
+    /**
+     * @return whether an insert now would be forwarded (not busy, and the chain isn't too deep).
+     * Only then may the owner fill the outputs array for receive().
+     */
+    public boolean canForward() {
+        return !busy && depth < MAX_DEPTH;
+    }
+
+    /**
+     * A neighbor inserts energy: forward what the outputs take (if canForward()), and take the rest up to room.
+     * @param engine   The owner's engine (its push scratch arrays are used).
+     * @param outputs  Endpoints to forward to; null entries are skipped. Never the one the energy comes from.
+     * @param count    How many entries of {@code outputs} to use.
+     * @param amount   How much the neighbor wants to insert.
+     * @param rate     The most we may give to one output in this call.
+     * @param room     How much the owner may still buffer.
+     * @param simulate Only ask, don't move anything.
+     * @return how much we took (or would take); forwarded() of it went on to the outputs.
+     */
+    public long receive(TransferEngine engine, IEnergyStorage[] outputs, int count, long amount, long rate, long room,
+                        boolean simulate) {
+        long moved = 0;
+        if (amount > 0 && canForward()) {
+            busy = true;
+            depth++;
+            try {
+                moved = engine.forward(outputs, count, amount, rate, rotation++, simulate);
+            } finally {
+                busy = false;
+                depth--;
+            }
+        }
+        forwarded = moved;
+        return moved + Math.max(0, Math.min(amount - moved, room));
+    }
+
+    /**
+     * @return how much the last receive() forwarded (or would forward, with simulate).
+     */
+    public long forwarded() {
+        return forwarded;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+
+import java.util.Arrays;
+
+/**
+ * =====================================
+ * TransferEngine.java
+ * -------------------------------------
+ * The pull/push logic of a bridge network, without any world in sight.
+ *
+ * The caller (BridgeNetwork) looks up its neighbors and hands us plain arrays
+ * of IEnergyStorage: the endpoints it may pull from, or push to (null = skip).
+ * Each phase then runs in three steps:
+ *  1. Gather: ask every endpoint with simulate=true what it could give/take.
+ *  2. Plan:   split the budget across them in proportion (TransferPlanner).
+ *  3. Commit: one real call per endpoint that was planned something
+ *             (several int-sized calls only for amounts above 2^31 FE).
+ *             What each endpoint really moved replaces its plan, so the
+ *             caller can read it back (pulledFrom/pushedTo).
+ *
+ * forward() is a push whose budget is energy being inserted right now, for
+ * bridges in pass-through mode.
+ *
+ * pull()/push() run the three steps back to back. The steps are also public
+ * on their own (gatherPull/planPull/commitPull, and the same for push), so the
+ * parallel scheduler (BridgeBatch) can gather and commit on the server thread
+ * and plan on its worker pool. Pull and push have separate scratch arrays, so
+ * both plans can exist at the same time.
+ *
+ * The engine keeps no energy itself: it returns how much moved and the caller
+ * adds/subtracts it from its buffer. The budget helpers below do the buffer
+ * accounting (free space, stored energy, per-member rates).
+ *
+ * Because nothing here touches Level, BlockState or BlockEntity, the same code
+ * runs in benchmarks (src/jmh) and could run in plain unit tests.
+ * One engine per network; reuses its scratch arrays, so a tick allocates nothing.
+ * =====================================
+ */
+public final class TransferEngine {
+    // Scratch space for the planner: simulated offers and planned amounts, one slot per endpoint.
+    private long[] pullOffers = new long[6];
+    private long[] pullPlanned = new long[6];
+    private long[] pushOffers = new long[6];
+    private long[] pushPlanned = new long[6];
+
+    /**
+     * Make sure the scratch arrays can hold this many endpoints.
+     */
+    public void ensureCapacity(int endpoints) {
+        if (pullOffers.length >= endpoints) return;
+        int size = Math.max(endpoints, pullOffers.length * 2);
+        pullOffers = Arrays.copyOf(pullOffers, size);
+        pullPlanned = Arrays.copyOf(pullPlanned, size);
+        pushOffers = Arrays.copyOf(pushOffers, size);
+        pushPlanned = Arrays.copyOf(pushPlanned, size);
+    }
+
+    /**
+     * @return how much a buffer may pull this tick: the free space, and at most {@code rate} per member.
+     */
+    public static long pullBudget(long energy, long capacity, long rate, int members) {
+        return Math.min(capacity - energy, EnergyMath.saturatedMultiply(rate, members));
+    }
+
+    /**
+     * @return how much a buffer may push this tick: what it stores, and at most {@code rate} per member.
+     */
+    public static long pushBudget(long energy, long rate, int members) {
+        return Math.min(energy, EnergyMath.saturatedMultiply(rate, members));
+    }
+
+    /**
+     * PULL phase: take energy from the sources, sharing the budget fairly.
+     * @param sources  Endpoints to pull from; null entries are skipped.
+     * @param count    How many entries of {@code sources} to use.
+     * @param budget   The most we may take in total (see pullBudget).
+     * @param rate     The most we may take from one endpoint.
+     * @param rotation Where rounding leftovers start (e.g. the game time), so no endpoint is always favoured.
+     * @return how much energy came in.
+     */
+    public long pull(IEnergyStorage[] sources, int count, long budget, long rate, long rotation) {
+        if (budget <= 0 || count == 0) return 0;
+        gatherPull(sources, count, rate);
+        if (planPull(count, budget, rotation) == 0) return 0;
+        return commitPull(sources, count);
+    }
+
+    /**
+     * Pull step (1), gather: ask every source (simulate=true) what it could give us right now.
+     * @param sources Endpoints to pull from; null entries are skipped.
+     * @param count   How many entries of {@code sources} to use.
+     * @param rate    The most we may take from one endpoint.
+     */
+    public void gatherPull(IEnergyStorage[] sources, int count, long rate) {
+        ensureCapacity(count);
+        int ask = EnergyMath.clampToInt(rate);
+        for (int i = 0; i < count; i++) {
+            IEnergyStorage source = sources[i];
+            pullOffers[i] = source != null && source.canExtract() ? offer(source.extractEnergy(ask, true), rate) : 0;
+        }
+    }
+
+    /**
+     * @return what source i offered in the last gatherPull (0 = it had nothing to give).
+     */
+    public long pullOffer(int i) {
+        return pullOffers[i];
+    }
+
+    /**
+     * Pull step (2), plan: split the budget over the gathered offers. Touches no handler, so any thread may call it.
+     * @return the total planned.
+     */
+    public long planPull(int count, long budget, long rotation) {
+        return TransferPlanner.split(pullOffers, count, budget, rotation, pullPlanned);
+    }
+
+    /**
+     * Pull step (3), commit: one real call per source that was planned something.
+     * @return how much energy came in.
+     */
+    public long commitPull(IEnergyStorage[] sources, int count) {
+        long moved = 0;
+        for (int i = 0; i < count; i++) {
+            if (pullPlanned[i] > 0) moved += pullPlanned[i] = EnergyMath.extractChunked(sources[i], pullPlanned[i]);
+        }
+        return moved;
+    }
+
+    /**
+     * @return how much the last commitPull really took from source i. Only valid right after a pull that moved energy.
+     */
+    public long pulledFrom(int i) {
+        return pullPlanned[i];
+    }
+
+    /**
+     * PUSH phase: give energy to the sinks, sharing the budget fairly.
+     * @param sinks    Endpoints to push to; null entries are skipped.
+     * @param count    How many entries of {@code sinks} to use.
+     * @param budget   The most we may give in total (see pushBudget).
+     * @param rate     The most we may give to one endpoint.
+     * @param rotation Where rounding leftovers start (e.g. the game time), so no endpoint is always favoured.
+     * @return how much energy went out.
+     */
+    public long push(IEnergyStorage[] sinks, int count, long budget, long rate, long rotation) {
+        if (budget <= 0 || count == 0) return 0;
+        gatherPush(sinks, count, rate);
+        if (planPush(count, budget, rotation) == 0) return 0;
+        return commitPush(sinks, count);
+    }
+
+    /**
+     * Push step (1), gather: ask every sink (simulate=true) how much it could take right now.
+     * @param sinks Endpoints to push to; null entries are skipped.
+     * @param count How many entries of {@code sinks} to use.
+     * @param rate  The most we may give to one endpoint.
+     */
+    public void gatherPush(IEnergyStorage[] sinks, int count, long rate) {
+        ensureCapacity(count);
+        int ask = EnergyMath.clampToInt(rate);
+        for (int i = 0; i < count; i++) {
+            IEnergyStorage sink = sinks[i];
+            pushOffers[i] = sink != null && sink.canReceive() ? offer(sink.receiveEnergy(ask, true), rate) : 0;
+        }
+    }
+
+    /**
+     * @return what sink i offered to take in the last gatherPush (0 = it had no room).
+     */
+    public long pushOffer(int i) {
+        return pushOffers[i];
+    }
+
+    /**
+     * Push step (2), plan: split the budget over the gathered offers. Touches no handler, so any thread may call it.
+     * @return the total planned.
+     */
+    public long planPush(int count, long budget, long rotation) {
+        return TransferPlanner.split(pushOffers, count, budget, rotation, pushPlanned);
+    }
+
+    /**
+     * Push step (3), commit: one real call per sink that was planned something.
+     * @return how much energy went out.
+     */
+    public long commitPush(IEnergyStorage[] sinks, int count) {
+        long moved = 0;
+        for (int i = 0; i < count; i++) {
+            if (pushPlanned[i] > 0) moved += pushPlanned[i] = EnergyMath.receiveChunked(sinks[i], pushPlanned[i]);
+        }
+        return moved;
+    }
+
+    /**
+     * @return how much the last commitPush really gave to sink i. Only valid right after a push that moved energy.
+     */
+    public long pushedTo(int i) {
+        return pushPlanned[i];
+    }
+
+    /**
+     * FORWARD: pass energy that is being inserted right now straight on to the sinks, within the same call
+     * (pass-through mode). The same three push steps, with the incoming amount as the budget; with
+     * simulate=true the sinks are only asked, and the planned total is returned.
+     * @param sinks    Endpoints to forward to; null entries are skipped.
+     * @param count    How many entries of {@code sinks} to use.
+     * @param amount   How much is being inserted.
+     * @param rate     The most we may give to one endpoint in this call.
+     * @param rotation Where rounding leftovers start, so no endpoint is always favoured.
+     * @param simulate Only ask, don't move anything.
+     * @return how much the sinks took (or would take).
+     */
+    public long forward(IEnergyStorage[] sinks, int count, long amount, long rate, long rotation, boolean simulate) {
+        if (amount <= 0 || count == 0) return 0;
+        gatherPush(sinks, count, rate);
+        long planned = planPush(count, amount, rotation);
+        if (simulate || planned == 0) return planned;
+        return commitPush(sinks, count);
+    }
+
+    /**
+     * Turn a simulated int answer into an offer. An endpoint that accepted the whole int-sized ask might take
+     * more in further calls, so for rates above the int limit we assume it can take the full rate.
+     */
+    private static long offer(int simulated, long rate) {
+        return simulated == Integer.MAX_VALUE && rate > Integer.MAX_VALUE ? rate : Math.max(0, simulated);
+    }
+}
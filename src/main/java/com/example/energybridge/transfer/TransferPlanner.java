@@ -0,0 +1,103 @@
+package com.example.energybridge.transfer;
+
+import java.math.BigInteger;
+
+/**
+ * =====================================
+ * TransferPlanner.java
+ * -------------------------------------
+ * Decides how much energy each side gets when there isn't enough for everyone.
+ *
+ * The bridge first asks every side (with simulate=true) how much it could give
+ * or take. Then this planner splits the tick's budget between the sides in
+ * proportion to those offers: a side that can take twice as much gets twice as
+ * much. Finally the bridge makes exactly one real call per side.
+ *
+ * This file has no Minecraft code in it, so the same inputs always give the
+ * same outputs (easy to reason about and to test).
+ * =====================================
+ */
+public final class TransferPlanner {
+    private TransferPlanner() {}
+
+    /**
+     * Split a budget across offers, proportionally, never giving a side more than it offered.
+     *
+     * Everyone first gets the rounded-down proportional amount. The few FE lost to rounding are then handed
+     * out one by one, starting at index {@code rotation} and wrapping around, so no side is always first.
+     *
+     * @param offers   How much each side can give/take (simulated). Negative values count as 0.
+     * @param count    How many entries of {@code offers} to use.
+     * @param budget   The most we may move in total.
+     * @param rotation Where the rounding leftovers start (e.g. the game time); any value is fine.
+     * @param out      Receives the amount planned for each side (first {@code count} entries are written).
+     * @return the total planned (min of budget and the sum of the offers).
+     */
+    public static long split(long[] offers, int count, long budget, long rotation, long[] out) {
+        long total = 0;
+        boolean saturated = false;
+        for (int i = 0; i < count; i++) {
+            long offer = Math.max(0, offers[i]);
+            saturated |= offer > Long.MAX_VALUE - total;
+            total = EnergyMath.saturatedAdd(total, offer);
+        }
+        if (budget <= 0 || total == 0) {
+            for (int i = 0; i < count; i++) out[i] = 0;
+            return 0;
+        }
+
+        // Enough for everyone: each side gets exactly what it offered.
+        if (!saturated && total <= budget) {
+            for (int i = 0; i < count; i++) out[i] = Math.max(0, offers[i]);
+            return total;
+        }
+
+        // Not enough: proportional share, rounded down. The shares must be taken of the real sum, or they add up
+        // to more than the budget; past Long.MAX_VALUE that sum only fits a BigInteger.
+        BigInteger exactTotal = saturated ? exactSum(offers, count) : null;
+        long planned = 0;
+        for (int i = 0; i < count; i++) {
+            long offer = Math.max(0, offers[i]);
+            long share = saturated ? scale(offer, budget, exactTotal) : scale(offer, budget, total);
+            out[i] = share;
+            planned += share;
+        }
+
+        // Hand out what rounding left over, 1 FE at a time (always fewer than count FE).
+        long leftover = budget - planned;
+        int start = (int) Math.floorMod(rotation, (long) count);
+        for (int k = 0; k < count && leftover > 0; k++) {
+            int i = (start + k) % count;
+            if (out[i] < offers[i]) {
+                out[i]++;
+                leftover--;
+            }
+        }
+        return budget - leftover;
+    }
+
+    private static BigInteger exactSum(long[] offers, int count) {
+        BigInteger sum = BigInteger.ZERO;
+        for (int i = 0; i < count; i++) sum = sum.add(BigInteger.valueOf(Math.max(0, offers[i])));
+        return sum;
+    }
+
+    /**
+     * value * numerator / denominator, rounded down (value &lt;= denominator), for a denominator past Long.MAX_VALUE.
+     */
+    private static long scale(long value, long numerator, BigInteger denominator) {
+        return BigInteger.valueOf(value).multiply(BigInteger.valueOf(numerator)).divide(denominator).longValueExact();
+    }
+
+    /**
+     * value * numerator / denominator, rounded down, without overflowing (value &lt;= denominator).
+     */
+    private static long scale(long value, long numerator, long denominator) {
+        if (Math.multiplyHigh(value, numerator) == 0 && value * numerator >= 0) {
+            return value * numerator / denominator;
+        }
+        // Very large tiers: fall back to exact big-number math.
+        return BigInteger.valueOf(value).multiply(BigInteger.valueOf(numerator))
+                .divide(BigInteger.valueOf(denominator)).longValueExact();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.energybridge.trace;
+
+import com.example.energybridge.transfer.TransferPlanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * =====================================
+ * TraceReportTest.java
+ * -------------------------------------
+ * The replay in TraceReport plans each phase exactly like the live network:
+ * over all endpoint slots, with the ones that were not asked offering 0.
+ * =====================================
+ */
+class TraceReportTest {
+    private static final long NETWORK = 42L;
+    private static final long BUDGET = 5;         // 10 + 10 offered: 2.5 each, so 1 FE of rounding leftover
+    private static final long[] OFFERS = {0, 10, 10}; // Slot 0 is backing off (not asked)
+
+    /**
+     * Slot 0 is skipped and the budget doesn't divide evenly: whatever the rotation, every endpoint moved exactly
+     * what the live planner gave it, so the replay finds no mismatch and no short delivery.
+     */
+    @Test
+    void skippedSlotKeepsTheRoundingOrder(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("trace.bin");
+        int phases = 6;
+        try (TraceRing ring = TraceRing.open(file, 64)) {
+            long[] planned = new long[OFFERS.length];
+            for (long rotation = 0; rotation < phases; rotation++) {
+                long total = TransferPlanner.split(OFFERS, OFFERS.length, BUDGET, rotation, planned);
+                ring.write(rotation, NETWORK, rotation, BUDGET, total, 0, total, TraceFormat.PULL, -1, -1, OFFERS.length);
+                for (int slot = 1; slot < OFFERS.length; slot++) {
+                    ring.write(rotation, NETWORK, NETWORK, OFFERS[slot], planned[slot], 0, total,
+                            TraceFormat.PULL_ENDPOINT, slot + 1, 0, slot);
+                }
+            }
+        }
+
+        TraceReport.Trace trace;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            trace = TraceReport.read(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+        assertEquals(phases, trace.phases);
+        assertEquals(phases * (OFFERS.length - 1), trace.calls);
+        assertEquals(0, trace.mismatches, "endpoints above the replayed plan");
+        assertEquals(0, trace.shortfall, "FE below the replayed plan");
+        assertEquals(phases * BUDGET, trace.bridges.get(NETWORK).moved);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.energybridge.transfer;
+
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * =====================================
+ * PassThroughTest.java
+ * -------------------------------------
+ * PassThrough.receive: forwards what the outputs take and buffers only the
+ * rest, moves nothing on simulate, and only buffers while busy or when the
+ * chain of forwarding buffers is too deep.
+ * =====================================
+ */
+class PassThroughTest {
+    /**
+     * The output takes 300 of 1000: 300 forwarded, 500 for a buffer with room 500, the rest refused.
+     */
+    @Test
+    void forwardsThenBuffers() {
+        Sink sink = new Sink(300);
+        PassThrough pass = new PassThrough();
+        assertEquals(800, pass.receive(new TransferEngine(), new IEnergyStorage[] {sink}, 1, 1000, 1000, 500, false));
+        assertEquals(300, pass.forwarded());
+        assertEquals(300, sink.received);
+    }
+
+    /**
+     * Simulate answers the same amounts but moves nothing.
+     */
+    @Test
+    void simulateMovesNothing() {
+        Sink sink = new Sink(300);
+        PassThrough pass = new PassThrough();
+        assertEquals(800, pass.receive(new TransferEngine(), new IEnergyStorage[] {sink}, 1, 1000, 1000, 500, true));
+        assertEquals(300, pass.forwarded());
+        assertEquals(0, sink.received);
+    }
+
+    /**
+     * While the owner ticks, inserts are only buffered.
+     */
+    @Test
+    void busyOnlyBuffers() {
+        Sink sink = new Sink(300);
+        PassThrough pass = new PassThrough();
+        pass.setBusy(true);
+        assertEquals(500, pass.receive(new TransferEngine(), new IEnergyStorage[] {sink}, 1, 1000, 1000, 500, false));
+        assertEquals(0, pass.forwarded());
+        assertEquals(0, sink.received);
+    }
+
+    /**
+     * A chain of links that forward into each other: the first MAX_DEPTH forward, the one after that only buffers.
+     */
+    @Test
+    void deepChainsOnlyBuffer() {
+        int length = PassThrough.MAX_DEPTH + 2;
+        Link[] links = new Link[length];
+        for (int i = length - 1; i >= 0; i--) links[i] = new Link(i == length - 1 ? new Sink(0) : links[i + 1]);
+        assertEquals(100, links[0].receiveEnergy(100, false));
+        for (int i = 0; i < PassThrough.MAX_DEPTH; i++) assertEquals(0, links[i].energy, "link " + i);
+        assertEquals(100, links[PassThrough.MAX_DEPTH].energy);
+    }
+
+    /**
+     * Takes up to its limit per call.
+     */
+    private static final class Sink implements IEnergyStorage {
+        final int limit;
+        long received;
+
+        Sink(int limit) {
+            this.limit = limit;
+        }
+
+        @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+            int taken = Math.min(maxReceive, limit);
+            if (!simulate) received += taken;
+            return taken;
+        }
+
+        @Override public int extractEnergy(int maxExtract, boolean simulate) { return 0; }
+
+        @Override public int getEnergyStored() { return 0; }
+
+        @Override public int getMaxEnergyStored() { return Integer.MAX_VALUE; }
+
+        @Override public boolean canExtract() { return false; }
+
+        @Override public boolean canReceive() { return true; }
+    }
+
+    /**
+     * A buffer that forwards inserts to the next one, like a bridge in pass-through mode.
+     */
+    private static final class Link implements IEnergyStorage {
+        final TransferEngine engine = new TransferEngine();
+        final PassThrough pass = new PassThrough();
+        final IEnergyStorage[] outputs;
+        long energy;
+
+        Link(IEnergyStorage next) {
+            outputs = new IEnergyStorage[] {next};
+        }
+
+        @Override public int receiveEnergy(int maxReceive, boolean simulate) {
+            long taken = pass.receive(engine, outputs, 1, maxReceive, maxReceive, 1000 - energy, simulate);
+            if (!simulate) energy += taken - pass.forwarded();
+            return (int) taken;
+        }
+
+        @Override public int extractEnergy(int maxExtract, boolean simulate) { return 0; }
+
+        @Override public int getEnergyStored() { return (int) energy; }
+
+        @Override public int getMaxEnergyStored() { return 1000; }
+
+        @Override public boolean canExtract() { return false; }
+
+        @Override public boolean canReceive() { return true; }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.energybridge.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * =====================================
+ * TransferPlannerTest.java
+ * -------------------------------------
+ * TransferPlanner.split: proportional shares, rounding leftovers handed out
+ * from the rotation, the same plan for the same inputs, and never more than
+ * the budget, also when the offers add up to more than a long holds.
+ * =====================================
+ */
+class TransferPlannerTest {
+    private static final long THREE_QUARTERS = Long.MAX_VALUE / 4 * 3;
+    private static final long HALF = Long.MAX_VALUE / 2;
+
+    /**
+     * Enough for everyone: each side gets exactly its offer; negative offers count as 0.
+     */
+    @Test
+    void enoughBudgetGivesEveryOffer() {
+        long[] offers = {300, -5, 0, 700};
+        long[] out = new long[4];
+        assertEquals(1000, TransferPlanner.split(offers, 4, 5000, 3, out));
+        assertArrayEquals(new long[] {300, 0, 0, 700}, out);
+    }
+
+    /**
+     * Not enough: a side that offers twice as much gets twice as much, and nobody gets more than it offered.
+     */
+    @Test
+    void sharesFollowTheOffers() {
+        long[] offers = {1000, 2000, 3000, 0};
+        long[] out = new long[4];
+        assertEquals(600, TransferPlanner.split(offers, 4, 600, 0, out));
+        assertArrayEquals(new long[] {100, 200, 300, 0}, out);
+    }
+
+    /**
+     * Only the first {@code count} entries are used: the rest are neither read nor written.
+     */
+    @Test
+    void countLimitsTheEntries() {
+        long[] offers = {10, 10, 1_000_000};
+        long[] out = {-1, -1, -1};
+        assertEquals(20, TransferPlanner.split(offers, 2, 100, 0, out));
+        assertArrayEquals(new long[] {10, 10, -1}, out);
+    }
+
+    /**
+     * Small offers: proportional shares, and the rounding leftover starts at the rotation.
+     */
+    @Test
+    void leftoverStartsAtRotation() {
+        long[] offers = {10, 10, 10};
+        long[] out = new long[3];
+        assertEquals(4, TransferPlanner.split(offers, 3, 4, 1, out));
+        assertArrayEquals(new long[] {1, 2, 1}, out);
+        // Rotations that differ by the side count give the same plan; the leftover wraps around.
+        assertEquals(4, TransferPlanner.split(offers, 3, 4, 4, out));
+        assertArrayEquals(new long[] {1, 2, 1}, out);
+        assertEquals(4, TransferPlanner.split(offers, 3, 4, -1, out));
+        assertArrayEquals(new long[] {1, 1, 2}, out);
+    }
+
+    /**
+     * The same inputs always give the same plan, and every rotation hands out the whole budget.
+     */
+    @Test
+    void samePlanForSameInputs() {
+        long[] offers = {7, 13, 0, 29, 3};
+        long[] first = new long[5];
+        long[] second = new long[5];
+        for (long rotation = 0; rotation < 10; rotation++) {
+            long planned = TransferPlanner.split(offers, 5, 17, rotation, first);
+            assertEquals(planned, TransferPlanner.split(offers, 5, 17, rotation, second));
+            assertArrayEquals(first, second);
+            assertEquals(17, planned);
+            long sum = 0;
+            for (int i = 0; i < 5; i++) {
+                assertTrue(first[i] >= 0 && first[i] <= offers[i], "side " + i + " got " + first[i]);
+                sum += first[i];
+            }
+            assertEquals(17, sum);
+        }
+    }
+
+    // ======= Offers that add up to more than Long.MAX_VALUE =======
+
+    /**
+     * Two offers of 3/4 of Long.MAX_VALUE and a budget of half: each gets a quarter, the total is the budget.
+     */
+    @Test
+    void saturatingOffersStayWithinBudget() {
+        long[] offers = {THREE_QUARTERS, THREE_QUARTERS};
+        long[] out = new long[2];
+        for (long rotation = 0; rotation < 2; rotation++) {
+            long planned = TransferPlanner.split(offers, 2, HALF, rotation, out);
+            assertEquals(HALF, planned);
+            assertEquals(HALF, out[0] + out[1]);
+            assertTrue(Math.abs(out[0] - out[1]) <= 1, "shares " + out[0] + " and " + out[1]);
+        }
+    }
+
+    /**
+     * A budget of Long.MAX_VALUE with saturating offers is split, not handed out in full.
+     */
+    @Test
+    void saturatingOffersWithMaxBudget() {
+        long[] offers = {Long.MAX_VALUE, Long.MAX_VALUE, 7};
+        long[] out = new long[3];
+        long planned = TransferPlanner.split(offers, 3, Long.MAX_VALUE, 0, out);
+        assertEquals(Long.MAX_VALUE, planned);
+        long sum = 0;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(out[i] >= 0 && out[i] <= offers[i], "side " + i + " got " + out[i]);
+            sum = Math.addExact(sum, out[i]);
+        }
+        assertEquals(Long.MAX_VALUE, sum);
+    }
+}
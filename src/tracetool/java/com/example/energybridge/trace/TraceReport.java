@@ -0,0 +1,303 @@
+package com.example.energybridge.trace;
+
+import com.example.energybridge.transfer.TransferPlanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * =====================================
+ * TraceReport.java (offline tool)
+ * -------------------------------------
+ * Reads a transfer trace (see TraceFormat, written by the mod while
+ * trace.enabled is on) and prints what went on around the bridges:
+ *  - the hottest bridges and networks (FE moved, ticks, calls)
+ *  - ping-pong pairs: two blocks that pass energy back and forth
+ *  - wasted calls: endpoints asked every tick that never offer anything,
+ *    and real calls that moved nothing
+ *  - replay: every pull/push phase is planned again with TransferPlanner
+ *    from the recorded offers, budget and rotation. A neighbor that
+ *    delivered less than the plan is a "short delivery"; a trace that
+ *    doesn't match the planner at all is a "replay mismatch".
+ *  - LIT changes and active-state syncs per network
+ *
+ * No Minecraft needed: ./gradlew traceReport -Ptrace=path/to/trace.bin [-Ptop=20]
+ * =====================================
+ */
+public final class TraceReport {
+    private TraceReport() {}
+
+    // Direction offsets by ordinal, as in Minecraft: DOWN, UP, NORTH, SOUTH, WEST, EAST.
+    private static final int[][] OFFSETS = {{0, -1, 0}, {0, 1, 0}, {0, 0, -1}, {0, 0, 1}, {-1, 0, 0}, {1, 0, 0}};
+
+    /**
+     * Totals for one bridge (by position) or one network (by its first member).
+     */
+    static final class Stats {
+        long moved;      // FE pulled + pushed
+        long calls;      // Endpoints asked (each one is a simulated call, plus a real one if planned)
+        long wasted;     // Asked, offered nothing
+        long idleReal;   // Planned something, really moved nothing
+        long shortfall;  // FE planned but not delivered
+        long phases;     // Pull/push phases (networks only)
+        long lit;        // LIT changes (networks only)
+        long syncs;      // Active-state changes (networks only)
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args[0].isEmpty()) {
+            System.err.println("usage: TraceReport <trace file> [top N]   (./gradlew traceReport -Ptrace=<file> [-Ptop=N])");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            print(file, read(file, buffer), top);
+        }
+    }
+
+    /**
+     * Everything one pass over a trace found (see read).
+     */
+    static final class Trace {
+        final Map<Long, Stats> bridges = new HashMap<>();
+        final Map<Long, Stats> networks = new HashMap<>();
+        // Directed FE flows between two blocks (from -> to), for the ping-pong pairs.
+        final Map<Long, Map<Long, Long>> flows = new HashMap<>();
+        long kept;
+        long written;
+        long firstTime = Long.MAX_VALUE;
+        long lastTime = Long.MIN_VALUE;
+        long phases;
+        long mismatches;  // Endpoints that moved more than the replayed plan
+        long shortfall;   // FE planned but not delivered, all endpoints
+        long calls;
+        long wasted;
+    }
+
+    /**
+     * Go through every record still in the ring (oldest first) and replay each pull/push phase.
+     */
+    static Trace read(Path file, ByteBuffer buffer) {
+        if (buffer.capacity() < TraceFormat.HEADER_BYTES || buffer.getInt(TraceFormat.H_MAGIC) != TraceFormat.MAGIC) {
+            throw new IllegalArgumentException(file + " is not an Energy Bridge trace");
+        }
+        if (buffer.getInt(TraceFormat.H_VERSION) != TraceFormat.VERSION) {
+            throw new IllegalArgumentException(file + " has trace version " + buffer.getInt(TraceFormat.H_VERSION)
+                    + ", this tool reads " + TraceFormat.VERSION);
+        }
+        long capacity = buffer.getLong(TraceFormat.H_CAPACITY);
+        long written = buffer.getLong(TraceFormat.H_WRITTEN);
+        long first = Math.max(0, written - capacity);
+        Trace trace = new Trace();
+        trace.written = written;
+        trace.kept = written - first;
+
+        // Scratch arrays for the replay of one phase, indexed by endpoint slot.
+        long[] offers = new long[16];
+        long[] moved = new long[16];
+        long[] planned = new long[16];
+        long[] positions = new long[16];
+        int[] sides = new int[16];
+        boolean[] asked = new boolean[16];
+
+        long n = first;
+        while (n < written) {
+            int at = offset(n, capacity);
+            n++;
+            byte kind = buffer.get(at + TraceFormat.R_KIND);
+            long time = buffer.getLong(at + TraceFormat.R_TIME);
+            long network = buffer.getLong(at + TraceFormat.R_NETWORK);
+            trace.firstTime = Math.min(trace.firstTime, time);
+            trace.lastTime = Math.max(trace.lastTime, time);
+            Stats net = trace.networks.computeIfAbsent(network, k -> new Stats());
+            if (kind == TraceFormat.LIT) {
+                net.lit++;
+                continue;
+            }
+            if (kind == TraceFormat.ACTIVE) {
+                net.syncs++;
+                continue;
+            }
+            // Endpoint records whose phase was overwritten (the start of the ring): skip.
+            if (kind != TraceFormat.PULL && kind != TraceFormat.PUSH) continue;
+
+            boolean pull = kind == TraceFormat.PULL;
+            byte endpointKind = pull ? TraceFormat.PULL_ENDPOINT : TraceFormat.PUSH_ENDPOINT;
+            long rotation = buffer.getLong(at + TraceFormat.R_POS);
+            long budget = buffer.getLong(at + TraceFormat.R_REQUESTED);
+            long total = buffer.getLong(at + TraceFormat.R_TRANSFERRED);
+            int slots = buffer.getInt(at + TraceFormat.R_ENDPOINTS);
+            if (slots < 0) break; // Not a trace this tool understands.
+            if (slots > offers.length) {
+                offers = new long[slots];
+                moved = new long[slots];
+                planned = new long[slots];
+                positions = new long[slots];
+                sides = new int[slots];
+                asked = new boolean[slots];
+            }
+            // Slots that were not asked offered nothing, as in the live plan.
+            for (int i = 0; i < slots; i++) {
+                offers[i] = 0;
+                moved[i] = 0;
+                asked[i] = false;
+            }
+            // The asked endpoints follow right after their phase.
+            while (n < written) {
+                int e = offset(n, capacity);
+                int slot = buffer.getInt(e + TraceFormat.R_SLOT);
+                if (buffer.get(e + TraceFormat.R_KIND) != endpointKind || slot < 0 || slot >= slots || asked[slot]) break;
+                n++;
+                asked[slot] = true;
+                positions[slot] = buffer.getLong(e + TraceFormat.R_POS);
+                offers[slot] = buffer.getLong(e + TraceFormat.R_REQUESTED);
+                moved[slot] = buffer.getLong(e + TraceFormat.R_TRANSFERRED);
+                sides[slot] = buffer.get(e + TraceFormat.R_SIDE);
+            }
+            trace.phases++;
+            net.phases++;
+            net.moved += total;
+
+            // Replay: plan again from the recorded offers. The real calls can only deliver less than the plan.
+            TransferPlanner.split(offers, slots, budget, rotation, planned);
+            for (int i = 0; i < slots; i++) {
+                if (!asked[i]) continue;
+                Stats bridge = trace.bridges.computeIfAbsent(positions[i], k -> new Stats());
+                bridge.calls++;
+                trace.calls++;
+                net.calls++;
+                bridge.moved += moved[i];
+                if (offers[i] == 0) {
+                    bridge.wasted++;
+                    net.wasted++;
+                    trace.wasted++;
+                }
+                if (planned[i] > 0 && moved[i] == 0) bridge.idleReal++;
+                if (moved[i] < planned[i]) {
+                    bridge.shortfall += planned[i] - moved[i];
+                    net.shortfall += planned[i] - moved[i];
+                    trace.shortfall += planned[i] - moved[i];
+                } else if (moved[i] > planned[i]) {
+                    trace.mismatches++;
+                }
+                if (moved[i] > 0 && sides[i] >= 0 && sides[i] < OFFSETS.length) {
+                    long neighbor = relative(positions[i], sides[i]);
+                    if (pull) addFlow(trace.flows, neighbor, positions[i], moved[i]);
+                    else addFlow(trace.flows, positions[i], neighbor, moved[i]);
+                }
+            }
+        }
+        return trace;
+    }
+
+    private static void print(Path file, Trace trace, int top) {
+        System.out.printf("Trace %s: %,d records kept of %,d written, game time %,d..%,d, %,d pull/push phases%n",
+                file, trace.kept, trace.written, trace.firstTime == Long.MAX_VALUE ? 0 : trace.firstTime,
+                trace.lastTime == Long.MIN_VALUE ? 0 : trace.lastTime, trace.phases);
+
+        System.out.println();
+        System.out.println("Hottest bridges (FE through their faces):");
+        for (Map.Entry<Long, Stats> e : topBy(trace.bridges, s -> s.moved, top)) {
+            Stats s = e.getValue();
+            System.out.printf("  %s: %,d FE, %,d endpoint calls, %,d offered nothing%n",
+                    pos(e.getKey()), s.moved, s.calls, s.wasted);
+        }
+
+        System.out.println();
+        System.out.println("Busiest networks (by first member):");
+        for (Map.Entry<Long, Stats> e : topBy(trace.networks, s -> s.calls + s.lit + s.syncs, top)) {
+            Stats s = e.getValue();
+            System.out.printf("  %s: %,d phases, %,d FE, %,d endpoint calls, %,d LIT changes, %,d active syncs%n",
+                    pos(e.getKey()), s.phases, s.moved, s.calls, s.lit, s.syncs);
+        }
+
+        System.out.println();
+        System.out.println("Ping-pong pairs (energy passed back and forth between two blocks):");
+        List<long[]> pairs = new ArrayList<>();
+        for (Map.Entry<Long, Map<Long, Long>> from : trace.flows.entrySet()) {
+            for (Map.Entry<Long, Long> to : from.getValue().entrySet()) {
+                long a = from.getKey();
+                long b = to.getKey();
+                if (a >= b) continue; // Each pair once.
+                Long back = trace.flows.getOrDefault(b, Map.of()).get(a);
+                if (back != null && back > 0) pairs.add(new long[] {a, b, to.getValue(), back});
+            }
+        }
+        pairs.sort(Comparator.comparingLong((long[] p) -> Math.min(p[2], p[3])).reversed());
+        if (pairs.isEmpty()) System.out.println("  none");
+        for (int i = 0; i < Math.min(top, pairs.size()); i++) {
+            long[] p = pairs.get(i);
+            System.out.printf("  %s <-> %s: %,d FE one way, %,d FE back%n", pos(p[0]), pos(p[1]), p[2], p[3]);
+        }
+
+        System.out.println();
+        System.out.printf("Wasted calls: %,d of %,d endpoint calls offered nothing (see backoffAfterRefusals)%n",
+                trace.wasted, trace.calls);
+        for (Map.Entry<Long, Stats> e : topBy(trace.bridges, s -> s.wasted + s.idleReal, top)) {
+            Stats s = e.getValue();
+            if (s.wasted + s.idleReal == 0) break;
+            System.out.printf("  %s: %,d offered nothing, %,d real calls moved nothing%n",
+                    pos(e.getKey()), s.wasted, s.idleReal);
+        }
+
+        System.out.println();
+        System.out.println("Replay against TransferPlanner:");
+        System.out.printf("  %,d endpoint results above the plan (replay mismatches: trace from another version?)%n",
+                trace.mismatches);
+        for (Map.Entry<Long, Stats> e : topBy(trace.bridges, s -> s.shortfall, top)) {
+            if (e.getValue().shortfall == 0) break;
+            System.out.printf("  %s: neighbors delivered %,d FE less than they promised%n",
+                    pos(e.getKey()), e.getValue().shortfall);
+        }
+    }
+
+    /**
+     * @return where record n lives in the file.
+     */
+    private static int offset(long n, long capacity) {
+        return TraceFormat.HEADER_BYTES + (int) (n % capacity) * TraceFormat.RECORD_BYTES;
+    }
+
+    private static void addFlow(Map<Long, Map<Long, Long>> flows, long from, long to, long amount) {
+        flows.computeIfAbsent(from, k -> new HashMap<>()).merge(to, amount, Long::sum);
+    }
+
+    private static List<Map.Entry<Long, Stats>> topBy(Map<Long, Stats> map, ToLongFunction<Stats> key, int top) {
+        List<Map.Entry<Long, Stats>> entries = new ArrayList<>(map.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Long, Stats> e) -> key.applyAsLong(e.getValue())).reversed());
+        return entries.subList(0, Math.min(top, entries.size()));
+    }
+
+    // ======= BlockPos.asLong() without Minecraft: x 26 bits, z 26 bits, y 12 bits =======
+
+    private static int x(long pos) { return (int) (pos << 64 - 38 - 26 >> 64 - 26); }
+
+    private static int y(long pos) { return (int) (pos << 64 - 12 >> 64 - 12); }
+
+    private static int z(long pos) { return (int) (pos << 64 - 12 - 26 >> 64 - 26); }
+
+    private static long asLong(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) y & 0xFFFL) | ((long) z & 0x3FFFFFFL) << 12;
+    }
+
+    private static long relative(long pos, int side) {
+        int[] d = OFFSETS[side];
+        return asLong(x(pos) + d[0], y(pos) + d[1], z(pos) + d[2]);
+    }
+
+    private static String pos(long pos) {
+        return x(pos) + " " + y(pos) + " " + z(pos);
+    }
+}